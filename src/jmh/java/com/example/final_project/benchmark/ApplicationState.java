@@ -0,0 +1,52 @@
+package com.example.final_project.benchmark;
+
+import com.example.final_project.FinalProjectApplication;
+import com.example.final_project.config.SyntheticDataGenerator;
+import com.example.final_project.service.PropertySearchIndex;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Boots the application once per fork against the in-memory H2 test database and
+ * seeds it with {@link SyntheticDataGenerator}. Volumes come from bench.* system
+ * properties, which the benchmark profile forwards. Benchmarks pull their beans from here.
+ */
+@State(Scope.Benchmark)
+public class ApplicationState {
+
+    public ConfigurableApplicationContext context;
+    public SyntheticDataGenerator.Generated seeded;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = new SpringApplicationBuilder(FinalProjectApplication.class)
+                .profiles("test")
+                .properties("server.port=0", "logging.level.root=WARN")
+                .run();
+        seeded = new SyntheticDataGenerator(context.getBean(JdbcTemplate.class), "{noop}password", 42)
+                .generate(new SyntheticDataGenerator.Volumes(
+                        Integer.getInteger("bench.users", 2_000),
+                        Integer.getInteger("bench.agents", 50),
+                        Integer.getInteger("bench.properties", 5_000),
+                        Integer.getInteger("bench.inquiries", 3_000),
+                        Integer.getInteger("bench.messages-per-inquiry", 20),
+                        Integer.getInteger("bench.notifications-per-user", 5)));
+        // The index was built at startup, before the seed rows existed.
+        context.getBean(PropertySearchIndex.class).rebuild();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+}
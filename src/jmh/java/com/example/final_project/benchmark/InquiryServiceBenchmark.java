@@ -0,0 +1,56 @@
+package com.example.final_project.benchmark;
+
+import com.example.final_project.dto.InquiryDTO;
+import com.example.final_project.dto.InquiryMessageDTO;
+import com.example.final_project.model.InquiryStatus;
+import com.example.final_project.service.InquiryService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admin inbox and admin thread view.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx1g")
+public class InquiryServiceBenchmark {
+
+    private InquiryService inquiryService;
+    private Long inquiryId;
+
+    @Setup
+    public void setUp(ApplicationState app) {
+        inquiryService = app.bean(InquiryService.class);
+        List<Long> inquiryIds = app.seeded.inquiryIds();
+        inquiryId = inquiryIds.get(inquiryIds.size() / 2);
+    }
+
+    @Benchmark
+    public List<InquiryDTO> getAllInquiries() {
+        return inquiryService.getAllInquiries(null);
+    }
+
+    @Benchmark
+    public List<InquiryDTO> getPendingInquiries() {
+        return inquiryService.getAllInquiries(InquiryStatus.PENDING);
+    }
+
+    @Benchmark
+    public List<InquiryMessageDTO> getInquiryMessagesAdmin() {
+        return inquiryService.getInquiryMessagesAdmin(inquiryId);
+    }
+}
@@ -0,0 +1,360 @@
+package com.example.final_project.benchmark;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * HTTP load driver that replays a browse / view / search / inquire / chat mix
+ * against a running instance and prints latency percentiles per operation.
+ * Uses only the JDK, so it can be launched straight from source:
+ *
+ * <pre>
+ * java src/jmh/java/com/example/final_project/benchmark/LoadDriver.java \
+ *     --base-url=http://localhost:8080 --concurrency=32 --duration=120 --users=5000
+ * </pre>
+ *
+ * Workers log in as the accounts made by SyntheticDataGenerator
+ * (synthetic-user-N@example.com), so start the server with the synthetic-data
+ * profile first. Options: --base-url, --concurrency, --duration and --warmup
+ * (seconds), --users, --user-format, --password, --page-size and
+ * --mix=browse:40,view:20,search:20,inquire:5,chat:15.
+ */
+public final class LoadDriver {
+
+    enum Op {
+        BROWSE, VIEW, SEARCH, INQUIRE, CHAT_SEND, CHAT_READ
+    }
+
+    private static final String[] SEARCH_TERMS = { "garden", "colombo", "apartment", "kandy house", "pool",
+            "luxury", "sea", "galle townhome", "parking", "modern apartment" };
+
+    private static final Pattern TOKEN = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"");
+    private static final Pattern ID = Pattern.compile("[{,]\\s*\"id\"\\s*:\\s*(\\d+)");
+    private static final Pattern NEXT_CURSOR = Pattern.compile("\"nextCursor\"\\s*:\\s*\"([^\"]+)\"");
+
+    private final URI baseUrl;
+    private final int concurrency;
+    private final Duration duration;
+    private final Duration warmup;
+    private final int users;
+    private final String userFormat;
+    private final String password;
+    private final int pageSize;
+    private final Map<String, Integer> mix;
+    private final HttpClient client;
+
+    private LoadDriver(Map<String, String> options) {
+        this.baseUrl = URI.create(options.getOrDefault("base-url", "http://localhost:8080"));
+        this.concurrency = Integer.parseInt(options.getOrDefault("concurrency", "16"));
+        this.duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "60")));
+        this.warmup = Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "10")));
+        this.users = Integer.parseInt(options.getOrDefault("users", "1000"));
+        this.userFormat = options.getOrDefault("user-format", "synthetic-user-%d@example.com");
+        this.password = options.getOrDefault("password", "password");
+        this.pageSize = Integer.parseInt(options.getOrDefault("page-size", "20"));
+        this.mix = parseMix(options.getOrDefault("mix", "browse:40,view:20,search:20,inquire:5,chat:15"));
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newFixedThreadPool(Math.max(2, concurrency / 4)))
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        new LoadDriver(options).run();
+        System.exit(0);
+    }
+
+    private void run() throws Exception {
+        System.out.printf("Driving %s with %d workers: %ds warmup, %ds measured, mix %s%n", baseUrl, concurrency,
+                warmup.toSeconds(), duration.toSeconds(), mix);
+
+        long measureFrom = System.nanoTime() + warmup.toNanos();
+        long stopAt = measureFrom + duration.toNanos();
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        List<Future<Results>> futures = new ArrayList<>();
+        for (int i = 0; i < concurrency; i++) {
+            Worker worker = new Worker(String.format(userFormat, i % users), measureFrom, stopAt);
+            futures.add(workers.submit(worker::run));
+        }
+
+        Results total = new Results();
+        for (Future<Results> future : futures) {
+            total.merge(future.get());
+        }
+        workers.shutdownNow();
+        total.print(duration);
+    }
+
+    private Map<String, Integer> parseMix(String spec) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String part : spec.split(",")) {
+            String[] pair = part.trim().split(":");
+            weights.put(pair[0].toLowerCase(Locale.ROOT), Integer.parseInt(pair[1]));
+        }
+        return weights;
+    }
+
+    private String pickAction() {
+        int total = mix.values().stream().mapToInt(Integer::intValue).sum();
+        int roll = ThreadLocalRandom.current().nextInt(total);
+        for (Map.Entry<String, Integer> entry : mix.entrySet()) {
+            roll -= entry.getValue();
+            if (roll < 0) {
+                return entry.getKey();
+            }
+        }
+        return "browse";
+    }
+
+    /**
+     * One simulated user: logs in once, then loops over the mix until the deadline.
+     */
+    private final class Worker {
+
+        private final String email;
+        private final long measureFrom;
+        private final long stopAt;
+        private final Results results = new Results();
+        private final List<Long> propertyIds = new ArrayList<>();
+        private final List<Long> inquiryIds = new ArrayList<>();
+        private String token;
+        private String cursor;
+
+        Worker(String email, long measureFrom, long stopAt) {
+            this.email = email;
+            this.measureFrom = measureFrom;
+            this.stopAt = stopAt;
+        }
+
+        Results run() {
+            try {
+                String login = send(null, post("/api/auth/login",
+                        "{\"email\":\"" + email + "\",\"password\":\"" + password + "\"}", false));
+                token = find(TOKEN, login);
+                if (token == null) {
+                    throw new IllegalStateException("Login failed for " + email);
+                }
+                inquiryIds.addAll(findAll(ID, send(null, get("/api/inquiries/my", true))));
+            } catch (Exception e) {
+                System.err.println("Worker for " + email + " could not start: " + e.getMessage());
+                return results;
+            }
+
+            while (System.nanoTime() < stopAt) {
+                switch (pickAction()) {
+                    case "view" -> view();
+                    case "search" -> search();
+                    case "inquire" -> inquire();
+                    case "chat" -> chat();
+                    default -> browse();
+                }
+            }
+            return results;
+        }
+
+        private void browse() {
+            String path = "/api/properties/browse?size=" + pageSize + (cursor != null ? "&cursor=" + cursor : "");
+            String body = send(Op.BROWSE, get(path, false));
+            if (body != null) {
+                cursor = find(NEXT_CURSOR, body);
+                List<Long> ids = findAll(ID, body);
+                if (propertyIds.size() < 1_000) {
+                    propertyIds.addAll(ids);
+                }
+            }
+        }
+
+        private void view() {
+            if (propertyIds.isEmpty()) {
+                browse();
+                return;
+            }
+            send(Op.VIEW, get("/api/properties/" + randomOf(propertyIds), false));
+        }
+
+        private void search() {
+            String term = SEARCH_TERMS[ThreadLocalRandom.current().nextInt(SEARCH_TERMS.length)];
+            send(Op.SEARCH, get("/api/properties/search?q=" + URLEncoder.encode(term, StandardCharsets.UTF_8),
+                    false));
+        }
+
+        private void inquire() {
+            if (propertyIds.isEmpty()) {
+                browse();
+                return;
+            }
+            String body = send(Op.INQUIRE, post("/api/inquiries", "{\"propertyId\":" + randomOf(propertyIds)
+                    + ",\"message\":\"Is this listing still available for a viewing?\"}", true));
+            Long id = body != null ? firstId(body) : null;
+            if (id != null) {
+                inquiryIds.add(id);
+            }
+        }
+
+        private void chat() {
+            if (inquiryIds.isEmpty()) {
+                inquire();
+                return;
+            }
+            Long inquiryId = randomOf(inquiryIds);
+            send(Op.CHAT_SEND, post("/api/inquiries/" + inquiryId + "/messages",
+                    "{\"text\":\"Could we move the viewing to Saturday morning?\"}", true));
+            send(Op.CHAT_READ, get("/api/inquiries/" + inquiryId + "/messages?limit=50", true));
+        }
+
+        private HttpRequest get(String path, boolean authenticated) {
+            return request(path, authenticated).GET().build();
+        }
+
+        private HttpRequest post(String path, String json, boolean authenticated) {
+            return request(path, authenticated)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(json))
+                    .build();
+        }
+
+        private HttpRequest.Builder request(String path, boolean authenticated) {
+            HttpRequest.Builder builder = HttpRequest.newBuilder(baseUrl.resolve(path))
+                    .timeout(Duration.ofSeconds(30));
+            if (authenticated && token != null) {
+                builder.header("Authorization", "Bearer " + token);
+            }
+            return builder;
+        }
+
+        /**
+         * Send a request and record its latency under op (null for setup calls).
+         * Returns the body, or null on failure.
+         */
+        private String send(Op op, HttpRequest request) {
+            long start = System.nanoTime();
+            try {
+                HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                long elapsed = System.nanoTime() - start;
+                boolean ok = response.statusCode() < 400;
+                if (op != null && start >= measureFrom) {
+                    results.record(op, elapsed, ok);
+                }
+                return ok ? response.body() : null;
+            } catch (IOException e) {
+                if (op != null && start >= measureFrom) {
+                    results.record(op, System.nanoTime() - start, false);
+                }
+                return null;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+        }
+    }
+
+    private static <T> T randomOf(List<T> values) {
+        return values.get(ThreadLocalRandom.current().nextInt(values.size()));
+    }
+
+    private static String find(Pattern pattern, String body) {
+        if (body == null) {
+            return null;
+        }
+        Matcher matcher = pattern.matcher(body);
+        return matcher.find() ? matcher.group(1) : null;
+    }
+
+    private static Long firstId(String body) {
+        String id = find(ID, body);
+        return id != null ? Long.valueOf(id) : null;
+    }
+
+    private static List<Long> findAll(Pattern pattern, String body) {
+        List<Long> values = new ArrayList<>();
+        if (body == null) {
+            return values;
+        }
+        Matcher matcher = pattern.matcher(body);
+        while (matcher.find()) {
+            values.add(Long.valueOf(matcher.group(1)));
+        }
+        return values;
+    }
+
+    /**
+     * Latencies and error counts per operation.
+     */
+    private static final class Results {
+
+        private final Map<Op, List<Long>> latencies = new EnumMap<>(Op.class);
+        private final Map<Op, Integer> errors = new EnumMap<>(Op.class);
+
+        void record(Op op, long nanos, boolean ok) {
+            if (ok) {
+                latencies.computeIfAbsent(op, k -> new ArrayList<>()).add(nanos);
+            } else {
+                errors.merge(op, 1, Integer::sum);
+            }
+        }
+
+        void merge(Results other) {
+            other.latencies.forEach((op, values) -> latencies.computeIfAbsent(op, k -> new ArrayList<>())
+                    .addAll(values));
+            other.errors.forEach((op, count) -> errors.merge(op, count, Integer::sum));
+        }
+
+        void print(Duration duration) {
+            System.out.printf("%n%-10s %9s %7s %9s %9s %9s %9s %9s %9s%n", "op", "count", "errors", "req/s",
+                    "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+            long totalCount = 0;
+            for (Op op : Op.values()) {
+                List<Long> values = latencies.getOrDefault(op, new ArrayList<>());
+                int errorCount = errors.getOrDefault(op, 0);
+                if (values.isEmpty() && errorCount == 0) {
+                    continue;
+                }
+                Collections.sort(values);
+                totalCount += values.size();
+                System.out.printf("%-10s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                        op.name().toLowerCase(Locale.ROOT), values.size(), errorCount,
+                        values.size() / (double) duration.toSeconds(),
+                        percentile(values, 50), percentile(values, 90), percentile(values, 99),
+                        percentile(values, 99.9), percentile(values, 100));
+            }
+            System.out.printf("%ntotal %d requests, %.1f req/s%n", totalCount,
+                    totalCount / (double) duration.toSeconds());
+        }
+
+        private static double percentile(List<Long> sorted, double percentile) {
+            if (sorted.isEmpty()) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile / 100.0 * sorted.size()) - 1;
+            return sorted.get(Math.max(0, Math.min(index, sorted.size() - 1))) / 1_000_000.0;
+        }
+    }
+}
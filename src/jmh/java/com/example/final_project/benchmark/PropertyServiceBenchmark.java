@@ -0,0 +1,57 @@
+package com.example.final_project.benchmark;
+
+import com.example.final_project.dto.PropertyCardDTO;
+import com.example.final_project.service.PropertyService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Listing search and the full catalogue endpoint.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx1g")
+public class PropertyServiceBenchmark {
+
+    private PropertyService propertyService;
+
+    @Setup
+    public void setUp(ApplicationState app) {
+        propertyService = app.bean(PropertyService.class);
+    }
+
+    @Benchmark
+    public List<PropertyCardDTO> searchProperties(SearchQuery search) {
+        return propertyService.searchProperties(search.query);
+    }
+
+    @Benchmark
+    public List<PropertyCardDTO> getAllProperties() {
+        return propertyService.getAllProperties();
+    }
+
+    /**
+     * Search terms: a common word, a two-term query and a prefix-only match.
+     */
+    @State(Scope.Benchmark)
+    public static class SearchQuery {
+
+        @Param({ "garden", "colombo apartment", "lux" })
+        public String query;
+    }
+}
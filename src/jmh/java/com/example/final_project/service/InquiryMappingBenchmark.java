@@ -0,0 +1,63 @@
+package com.example.final_project.service;
+
+import com.example.final_project.benchmark.ApplicationState;
+import com.example.final_project.dto.InquiryDTO;
+import com.example.final_project.dto.InquiryMessageDTO;
+import com.example.final_project.dto.InquirySummaryView;
+import com.example.final_project.model.InquiryMessage;
+import com.example.final_project.repository.InquiryMessageRepository;
+import com.example.final_project.repository.InquiryRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DTO mapping on its own, without the queries: rows are fetched once in setup
+ * and each invocation maps the whole inbox or thread. Lives in the service
+ * package to reach the package-private mappers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx1g")
+public class InquiryMappingBenchmark {
+
+    private InquiryService inquiryService;
+    private List<InquirySummaryView> summaries;
+    private List<InquiryMessage> messages;
+
+    @Setup
+    public void setUp(ApplicationState app) {
+        inquiryService = app.bean(InquiryService.class);
+        summaries = app.bean(InquiryRepository.class).findSummaries(null);
+        List<Long> inquiryIds = app.seeded.inquiryIds();
+        messages = app.bean(InquiryMessageRepository.class)
+                .findByInquiryIdOrderByCreatedAtAsc(inquiryIds.get(inquiryIds.size() / 2));
+    }
+
+    @Benchmark
+    public void inquirySummaryToDTO(Blackhole blackhole) {
+        for (InquirySummaryView view : summaries) {
+            InquiryDTO dto = inquiryService.toDTO(view);
+            blackhole.consume(dto);
+        }
+    }
+
+    @Benchmark
+    public List<InquiryMessageDTO> messagesToDTOs() {
+        return inquiryService.toMessageDTOs(messages);
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.final_project.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+
+import java.util.regex.Pattern;
+
+/**
+ * Counts messages handed to the STOMP broker (SimpMessagingTemplate sends),
+ * tagged by destination with numeric ids collapsed so the tag stays bounded,
+ * e.g. /topic/agents/{id}/inquiries.
+ */
+@RequiredArgsConstructor
+class BrokerSendMetrics implements ChannelInterceptor {
+
+    private static final Pattern NUMERIC_SEGMENT = Pattern.compile("/\\d+(?=/|$)");
+
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public void afterSendCompletion(Message<?> message, MessageChannel channel, boolean sent, Exception ex) {
+        String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+        if (sent && destination != null) {
+            meterRegistry.counter("websocket.messages.sent", "destination", normalize(destination)).increment();
+        }
+    }
+
+    static String normalize(String destination) {
+        return NUMERIC_SEGMENT.matcher(destination).replaceAll("/{id}");
+    }
+}
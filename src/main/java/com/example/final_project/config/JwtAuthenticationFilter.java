@@ -1,6 +1,12 @@
 package com.example.final_project.config;
 
+import com.example.final_project.model.Agent;
+import com.example.final_project.model.Role;
+import com.example.final_project.model.User;
+import com.example.final_project.service.JwtAuthenticationCache;
 import com.example.final_project.service.JwtService;
+import com.example.final_project.service.ReferenceDataCache;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -26,6 +32,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
+    private final JwtAuthenticationCache authenticationCache;
+    private final ReferenceDataCache referenceData;
 
     @Override
     protected void doFilterInternal(
@@ -33,23 +41,22 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             @NonNull HttpServletResponse response,
             @NonNull FilterChain filterChain) throws ServletException, IOException {
         final String authHeader = request.getHeader("Authorization");
-        final String jwt;
-        final String userEmail;
 
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
             filterChain.doFilter(request, response);
             return;
         }
 
-        jwt = authHeader.substring(7);
+        final String jwt = authHeader.substring(7);
 
         try {
-            userEmail = jwtService.extractUsername(jwt);
-
-            if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
+            if (SecurityContextHolder.getContext().getAuthentication() == null) {
+                UserDetails userDetails = authenticationCache.get(jwt);
+                if (userDetails == null) {
+                    userDetails = loadAndCache(jwt);
+                }
 
-                if (jwtService.isTokenValid(jwt, userDetails)) {
+                if (userDetails != null) {
                     UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                             userDetails,
                             null,
@@ -57,7 +64,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                     authToken.setDetails(
                             new WebAuthenticationDetailsSource().buildDetails(request));
                     SecurityContextHolder.getContext().setAuthentication(authToken);
-                    log.debug("JWT authentication successful for user: {}", userEmail);
+                    log.debug("JWT authentication successful for user: {}", userDetails.getUsername());
                 }
             }
         } catch (Exception e) {
@@ -66,4 +73,33 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
+
+    /**
+     * Verify the token with a single parse, load its user and cache the result
+     * until the token expires. Agent accounts get their agent profile id resolved
+     * here, so agent endpoints can read it from the principal. Returns null for
+     * tokens without a subject or for disabled users.
+     */
+    private UserDetails loadAndCache(String jwt) {
+        Claims claims = jwtService.parseVerified(jwt);
+        String userEmail = claims.getSubject();
+        if (userEmail == null) {
+            return null;
+        }
+
+        UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
+        if (!userDetails.isEnabled()) {
+            return null;
+        }
+        // The principal is detached here, so this only shapes the cached principal.
+        if (userDetails instanceof User user && user.getRole() == Role.AGENT) {
+            user.setAgentId(referenceData.findAgentByLinkedUserId(user.getId())
+                    .map(Agent::getId)
+                    .orElse(null));
+        }
+        if (claims.getExpiration() != null) {
+            authenticationCache.put(jwt, userDetails, claims.getExpiration().getTime());
+        }
+        return userDetails;
+    }
 }
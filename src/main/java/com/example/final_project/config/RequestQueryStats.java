@@ -0,0 +1,50 @@
+package com.example.final_project.config;
+
+/**
+ * JDBC statement count and time for the HTTP request on the current thread.
+ * Started and ended by RequestMetricsFilter; StatementCountingDataSource adds to it.
+ * Statements on threads without an active request are not counted.
+ */
+public final class RequestQueryStats {
+
+    private static final ThreadLocal<RequestQueryStats> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+    private long nanos;
+
+    private RequestQueryStats() {
+    }
+
+    static RequestQueryStats begin() {
+        RequestQueryStats stats = new RequestQueryStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Stats for the current request, or null outside a request.
+     */
+    public static RequestQueryStats current() {
+        return CURRENT.get();
+    }
+
+    static void record(long elapsedNanos) {
+        RequestQueryStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.statements++;
+            stats.nanos += elapsedNanos;
+        }
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getNanos() {
+        return nanos;
+    }
+}
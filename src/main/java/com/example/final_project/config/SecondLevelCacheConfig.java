@@ -0,0 +1,34 @@
+package com.example.final_project.config;
+
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.net.URI;
+import java.util.UUID;
+
+/**
+ * Gives each SessionFactory its own JCache manager for the second-level cache.
+ * Hibernate closes the manager when its SessionFactory stops; with the provider's
+ * shared default manager that would close the caches of every other context in
+ * the JVM (e.g. test contexts). Regions are still read from application.conf.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheManager() {
+        return properties -> {
+            CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+            // Any URI that is not a file or classpath resource resolves to application.conf
+            CacheManager cacheManager = provider.getCacheManager(
+                    URI.create("final-project:l2-" + UUID.randomUUID()), provider.getDefaultClassLoader());
+            properties.put(ConfigSettings.CACHE_MANAGER, cacheManager);
+        };
+    }
+}
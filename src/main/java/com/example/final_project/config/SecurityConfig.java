@@ -42,6 +42,9 @@ public class SecurityConfig {
                         .requestMatchers("/api/seller/apply", "/api/seller/activate").permitAll()
                         // WebSocket endpoints - allow connection, auth handled via token param
                         .requestMatchers("/ws/**").permitAll()
+                        // Actuator: health is public, metrics are admin only
+                        .requestMatchers("/actuator/health").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
                         // Admin only
                         .requestMatchers("/api/admin/**").hasRole("ADMIN")
                         // Agent only
@@ -0,0 +1,306 @@
+package com.example.final_project.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Bulk-inserts production-sized test data with JDBC batches: agents, customer
+ * users, listings with images and facilities, inquiries with chat threads, and
+ * notifications. Goes straight to the tables, so no entity callbacks or caches
+ * see the rows; run it before the data is read.
+ * <p>
+ * Customers are {@code synthetic-user-N@example.com} and agents
+ * {@code synthetic-agent-N@example.com}, all sharing one password.
+ */
+@Slf4j
+public class SyntheticDataGenerator {
+
+    public static final String USER_EMAIL_FORMAT = "synthetic-user-%d@example.com";
+    public static final String AGENT_EMAIL_FORMAT = "synthetic-agent-%d@example.com";
+
+    private static final int BATCH_SIZE = 500;
+    private static final int FLUSH_ROWS = 5_000;
+    private static final int PREVIEW_LENGTH = 100;
+
+    private static final String USER_INSERT = "INSERT INTO users (name, email, password, role, enabled)"
+            + " VALUES (?, ?, ?, ?, ?)";
+    private static final String AGENT_INSERT = "INSERT INTO agents (name, email, phone, title, location, status,"
+            + " rating, properties_sold, linked_user_id, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String PROPERTY_INSERT = "INSERT INTO properties (title, description, address, price, type,"
+            + " house_type, status, image_url, bedrooms, bathrooms, area_sq_ft, assigned_agent_id, owner_name,"
+            + " owner_email, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String IMAGE_INSERT = "INSERT INTO property_images (property_id, image_url) VALUES (?, ?)";
+    private static final String FACILITY_INSERT = "INSERT INTO property_facilities (property_id, facility)"
+            + " VALUES (?, ?)";
+    private static final String INQUIRY_INSERT = "INSERT INTO inquiries (user_id, property_id, assigned_agent_id,"
+            + " status, last_message_at, last_read_at_user, last_message_preview, message_count, created_at)"
+            + " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String MESSAGE_INSERT = "INSERT INTO inquiry_messages (inquiry_id, sender_id, sender_role,"
+            + " text, created_at) VALUES (?, ?, ?, ?, ?)";
+    private static final String NOTIFICATION_INSERT = "INSERT INTO user_notifications (recipient_email, title,"
+            + " message, property_id, is_read, created_at) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final String[] ADJECTIVES = { "Modern", "Spacious", "Cosy", "Luxury", "Renovated", "Quiet",
+            "Bright", "Family", "Seaside", "Garden" };
+    private static final String[] HOUSE_TYPES = { "APARTMENT", "HOUSE", "TOWNHOME", "LAND", "MULTI_FAMILY" };
+    private static final String[] CITIES = { "Colombo", "Kandy", "Galle", "Negombo", "Jaffna", "Matara",
+            "Kurunegala", "Nuwara Eliya" };
+    private static final String[] FACILITIES = { "Parking", "Garden", "Pool", "Gym", "Security", "Balcony",
+            "Air conditioning", "Solar power" };
+    private static final String[] WORDS = { "viewing", "price", "deposit", "available", "weekend", "parking",
+            "schools", "nearby", "agreement", "month", "garden", "kitchen", "furnished", "lease", "offer",
+            "would", "like", "please", "could", "the", "is", "it", "we", "for", "and", "with", "still" };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String passwordHash;
+    private final Random random;
+
+    public SyntheticDataGenerator(JdbcTemplate jdbcTemplate, String passwordHash, long seed) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.passwordHash = passwordHash;
+        this.random = new Random(seed);
+    }
+
+    /**
+     * How much to generate. Message counts per inquiry vary around the average.
+     */
+    public record Volumes(int users, int agents, int properties, int inquiries, int messagesPerInquiry,
+            int notificationsPerUser) {
+    }
+
+    /**
+     * Ids of the inserted rows, for callers that need concrete rows to hit.
+     */
+    public record Generated(List<Long> userIds, List<Long> agentIds, List<Long> propertyIds, List<Long> inquiryIds) {
+    }
+
+    public Generated generate(Volumes volumes) {
+        if (volumes.users() <= 0 || volumes.agents() <= 0 || volumes.properties() <= 0) {
+            throw new RuntimeException("Synthetic data needs at least one user, agent and property");
+        }
+        LocalDateTime now = LocalDateTime.now();
+
+        // Agent accounts and their profiles
+        long userWatermark = maxId("users");
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < volumes.agents(); i++) {
+            rows.add(new Object[] { "Synthetic Agent " + i, String.format(AGENT_EMAIL_FORMAT, i), passwordHash,
+                    "AGENT", true });
+        }
+        batch(USER_INSERT, rows);
+        List<Long> agentUserIds = idsAfter("users", userWatermark);
+
+        long agentWatermark = maxId("agents");
+        rows.clear();
+        for (int i = 0; i < volumes.agents(); i++) {
+            rows.add(new Object[] { "Synthetic Agent " + i, String.format(AGENT_EMAIL_FORMAT, i),
+                    "+94 77 " + String.format("%07d", i), "Property Consultant", pick(CITIES), "ACTIVE",
+                    3.5 + random.nextInt(16) / 10.0, random.nextInt(200), agentUserIds.get(i),
+                    Timestamp.valueOf(now) });
+        }
+        batch(AGENT_INSERT, rows);
+        List<Long> agentIds = idsAfter("agents", agentWatermark);
+
+        // Customers
+        userWatermark = maxId("users");
+        rows.clear();
+        for (int i = 0; i < volumes.users(); i++) {
+            rows.add(new Object[] { "Synthetic User " + i, String.format(USER_EMAIL_FORMAT, i), passwordHash,
+                    "USER", true });
+            if (rows.size() >= FLUSH_ROWS) {
+                batch(USER_INSERT, rows);
+                rows.clear();
+            }
+        }
+        batch(USER_INSERT, rows);
+        List<Long> userIds = idsAfter("users", userWatermark);
+
+        // Listings
+        long propertyWatermark = maxId("properties");
+        rows.clear();
+        for (int i = 0; i < volumes.properties(); i++) {
+            String city = pick(CITIES);
+            String houseType = pick(HOUSE_TYPES);
+            String kind = houseType.toLowerCase(Locale.ROOT).replace('_', ' ');
+            rows.add(new Object[] {
+                    pick(ADJECTIVES) + " " + kind + " in " + city,
+                    "A " + kind + " close to the centre of " + city + " with "
+                            + pick(FACILITIES).toLowerCase(Locale.ROOT) + " and "
+                            + pick(FACILITIES).toLowerCase(Locale.ROOT) + ". " + text(80 + random.nextInt(600)),
+                    (i + 1) + " Main Street, " + city,
+                    50_000 + random.nextInt(950_000),
+                    random.nextInt(4) == 0 ? "RENT" : "SALE",
+                    houseType,
+                    i % 10 == 0 ? "PENDING" : "AVAILABLE",
+                    "/api/files/synthetic-" + i + ".jpg",
+                    1 + random.nextInt(5),
+                    1 + random.nextInt(3),
+                    500.0 + random.nextInt(3_000),
+                    agentIds.get(i % agentIds.size()),
+                    "Owner " + (i % 500),
+                    "owner-" + (i % 500) + "@example.com",
+                    Timestamp.valueOf(now.minusMinutes(i)) });
+            if (rows.size() >= FLUSH_ROWS) {
+                batch(PROPERTY_INSERT, rows);
+                rows.clear();
+            }
+        }
+        batch(PROPERTY_INSERT, rows);
+        List<Long> propertyIds = idsAfter("properties", propertyWatermark);
+
+        List<Object[]> images = new ArrayList<>();
+        List<Object[]> facilities = new ArrayList<>();
+        for (Long propertyId : propertyIds) {
+            int imageCount = 1 + random.nextInt(6);
+            for (int n = 0; n < imageCount; n++) {
+                images.add(new Object[] { propertyId, "/api/files/synthetic-" + propertyId + "-" + n + ".jpg" });
+            }
+            int facilityCount = random.nextInt(5);
+            for (int n = 0; n < facilityCount; n++) {
+                facilities.add(new Object[] { propertyId, FACILITIES[(int) ((propertyId + n) % FACILITIES.length)] });
+            }
+            if (images.size() >= FLUSH_ROWS) {
+                batch(IMAGE_INSERT, images);
+                batch(FACILITY_INSERT, facilities);
+                images.clear();
+                facilities.clear();
+            }
+        }
+        batch(IMAGE_INSERT, images);
+        batch(FACILITY_INSERT, facilities);
+
+        // Inquiries and their threads, a chunk at a time to bound memory.
+        List<Long> inquiryIds = new ArrayList<>();
+        for (int from = 0; from < volumes.inquiries(); from += FLUSH_ROWS) {
+            inquiryIds.addAll(generateInquiries(Math.min(FLUSH_ROWS, volumes.inquiries() - from),
+                    volumes.messagesPerInquiry(), now, userIds, agentIds, agentUserIds, propertyIds));
+        }
+
+        // Notifications
+        rows.clear();
+        for (int i = 0; i < userIds.size(); i++) {
+            for (int n = 0; n < volumes.notificationsPerUser(); n++) {
+                rows.add(new Object[] { String.format(USER_EMAIL_FORMAT, i), "Listing update",
+                        "A listing you viewed has a new update. " + text(20 + random.nextInt(120)),
+                        propertyIds.get(random.nextInt(propertyIds.size())), random.nextInt(10) < 7,
+                        Timestamp.valueOf(now.minusHours(random.nextInt(24 * 30))) });
+            }
+            if (rows.size() >= FLUSH_ROWS) {
+                batch(NOTIFICATION_INSERT, rows);
+                rows.clear();
+            }
+        }
+        batch(NOTIFICATION_INSERT, rows);
+
+        log.info("Generated {} agents, {} users, {} properties, {} inquiries", agentIds.size(), userIds.size(),
+                propertyIds.size(), inquiryIds.size());
+        return new Generated(userIds, agentIds, propertyIds, inquiryIds);
+    }
+
+    /**
+     * Insert a chunk of inquiries and their messages. Threads are drafted first so
+     * the inquiry row carries the same summary columns the app maintains.
+     */
+    private List<Long> generateInquiries(int count, int messagesPerInquiry, LocalDateTime now, List<Long> userIds,
+            List<Long> agentIds, List<Long> agentUserIds, List<Long> propertyIds) {
+        long watermark = maxId("inquiries");
+        List<List<Object[]>> threads = new ArrayList<>();
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Long customerId = userIds.get(random.nextInt(userIds.size()));
+            int agentIndex = random.nextInt(agentIds.size());
+            LocalDateTime openedAt = now.minusDays(1 + random.nextInt(90)).minusMinutes(random.nextInt(1440));
+
+            List<Object[]> thread = new ArrayList<>();
+            int messageCount = 1 + random.nextInt(Math.max(1, 2 * messagesPerInquiry - 1));
+            LocalDateTime sentAt = openedAt;
+            for (int m = 0; m < messageCount; m++) {
+                boolean fromCustomer = m % 2 == 0;
+                thread.add(new Object[] { null, fromCustomer ? customerId : agentUserIds.get(agentIndex),
+                        fromCustomer ? "USER" : "AGENT", messageText(), Timestamp.valueOf(sentAt) });
+                sentAt = sentAt.plusMinutes(1 + random.nextInt(240));
+            }
+            threads.add(thread);
+
+            Object[] last = thread.get(thread.size() - 1);
+            LocalDateTime lastMessageAt = ((Timestamp) last[4]).toLocalDateTime();
+            String lastText = (String) last[3];
+            rows.add(new Object[] {
+                    customerId,
+                    propertyIds.get(random.nextInt(propertyIds.size())),
+                    agentIds.get(agentIndex),
+                    random.nextInt(10) == 0 ? "CLOSED" : messageCount % 2 == 0 ? "REPLIED" : "PENDING",
+                    Timestamp.valueOf(lastMessageAt),
+                    random.nextInt(3) == 0 ? null : Timestamp.valueOf(lastMessageAt),
+                    lastText.length() > PREVIEW_LENGTH ? lastText.substring(0, PREVIEW_LENGTH) + "..." : lastText,
+                    messageCount,
+                    Timestamp.valueOf(openedAt) });
+        }
+        batch(INQUIRY_INSERT, rows);
+        List<Long> inquiryIds = idsAfter("inquiries", watermark);
+
+        List<Object[]> messages = new ArrayList<>();
+        for (int i = 0; i < inquiryIds.size(); i++) {
+            for (Object[] message : threads.get(i)) {
+                message[0] = inquiryIds.get(i);
+                messages.add(message);
+            }
+        }
+        batch(MESSAGE_INSERT, messages);
+        return inquiryIds;
+    }
+
+    /**
+     * Chat-like lengths: most messages are a line or two, some a paragraph,
+     * a few are long.
+     */
+    private String messageText() {
+        int roll = random.nextInt(100);
+        if (roll < 70) {
+            return text(15 + random.nextInt(85));
+        }
+        if (roll < 95) {
+            return text(100 + random.nextInt(400));
+        }
+        return text(500 + random.nextInt(1_500));
+    }
+
+    private String text(int length) {
+        StringBuilder text = new StringBuilder(length + 16);
+        while (text.length() < length) {
+            if (text.length() > 0) {
+                text.append(' ');
+            }
+            text.append(pick(WORDS));
+        }
+        text.setCharAt(0, Character.toUpperCase(text.charAt(0)));
+        return text.append('.').toString();
+    }
+
+    private void batch(String sql, List<Object[]> rows) {
+        for (int from = 0; from < rows.size(); from += BATCH_SIZE) {
+            jdbcTemplate.batchUpdate(sql, rows.subList(from, Math.min(from + BATCH_SIZE, rows.size())));
+        }
+    }
+
+    private long maxId(String table) {
+        Long max = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + table, Long.class);
+        return max != null ? max : 0L;
+    }
+
+    private List<Long> idsAfter(String table, long watermark) {
+        return jdbcTemplate.queryForList("SELECT id FROM " + table + " WHERE id > ? ORDER BY id", Long.class,
+                watermark);
+    }
+
+    private String pick(String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.final_project.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fills the database with production-sized synthetic data when started with the
+ * "synthetic-data" profile, e.g.
+ * {@code --spring.profiles.active=synthetic-data --app.synthetic.properties=50000}.
+ * Skips if synthetic users are already present, so restarts do not duplicate rows.
+ */
+@Component
+@Profile("synthetic-data")
+@RequiredArgsConstructor
+@Slf4j
+public class SyntheticDataRunner implements CommandLineRunner {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PasswordEncoder passwordEncoder;
+
+    @Value("${app.synthetic.users:5000}")
+    private int users;
+
+    @Value("${app.synthetic.agents:50}")
+    private int agents;
+
+    @Value("${app.synthetic.properties:20000}")
+    private int properties;
+
+    @Value("${app.synthetic.inquiries:10000}")
+    private int inquiries;
+
+    @Value("${app.synthetic.messages-per-inquiry:12}")
+    private int messagesPerInquiry;
+
+    @Value("${app.synthetic.notifications-per-user:5}")
+    private int notificationsPerUser;
+
+    @Value("${app.synthetic.password:password}")
+    private String password;
+
+    @Value("${app.synthetic.seed:42}")
+    private long seed;
+
+    @Override
+    public void run(String... args) {
+        Integer existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users WHERE email = ?", Integer.class,
+                String.format(SyntheticDataGenerator.USER_EMAIL_FORMAT, 0));
+        if (existing != null && existing > 0) {
+            log.info("Synthetic data already present, skipping generation");
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        // One hash for every account; BCrypt per row would dominate the run.
+        new SyntheticDataGenerator(jdbcTemplate, passwordEncoder.encode(password), seed)
+                .generate(new SyntheticDataGenerator.Volumes(users, agents, properties, inquiries,
+                        messagesPerInquiry, notificationsPerUser));
+        log.info("Synthetic data generated in {} ms. Log in as {} / {}", System.currentTimeMillis() - start,
+                String.format(SyntheticDataGenerator.USER_EMAIL_FORMAT, 0), password);
+    }
+}
@@ -1,5 +1,8 @@
 package com.example.final_project.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
@@ -9,19 +12,51 @@ import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerCo
 /**
  * WebSocket configuration for real-time inquiry notifications.
  * Uses STOMP over WebSocket with SockJS fallback.
+ * With app.websocket.broker-relay.host set, /topic is served by an external STOMP
+ * broker (e.g. RabbitMQ) shared by all nodes instead of the in-memory broker.
+ * Sends to the broker are counted per destination (websocket.messages.sent).
  */
 @Configuration
 @EnableWebSocketMessageBroker
+@RequiredArgsConstructor
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.websocket.broker-relay.host:}")
+    private String relayHost;
+
+    @Value("${app.websocket.broker-relay.port:61613}")
+    private int relayPort;
+
+    @Value("${app.websocket.broker-relay.login:guest}")
+    private String relayLogin;
+
+    @Value("${app.websocket.broker-relay.passcode:guest}")
+    private String relayPasscode;
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
-        // Enable a simple in-memory message broker for broadcasting messages
-        // Clients subscribe to /topic/* destinations
-        config.enableSimpleBroker("/topic");
+        if (relayHost != null && !relayHost.isBlank()) {
+            // Clients subscribe to /topic/* destinations on the shared broker
+            config.enableStompBrokerRelay("/topic")
+                    .setRelayHost(relayHost)
+                    .setRelayPort(relayPort)
+                    .setClientLogin(relayLogin)
+                    .setClientPasscode(relayPasscode)
+                    .setSystemLogin(relayLogin)
+                    .setSystemPasscode(relayPasscode);
+        } else {
+            // Enable a simple in-memory message broker for broadcasting messages
+            // Clients subscribe to /topic/* destinations
+            config.enableSimpleBroker("/topic");
+        }
 
         // Prefix for messages sent from client to server
         config.setApplicationDestinationPrefixes("/app");
+
+        // Everything SimpMessagingTemplate sends passes through the broker channel
+        config.configureBrokerChannel().interceptors(new BrokerSendMetrics(meterRegistry));
     }
 
     @Override
@@ -41,11 +41,15 @@ public class AgentInquiryController {
     }
 
     /**
-     * Get all messages for a specific inquiry.
+     * Get messages for a specific inquiry.
+     * Without parameters the whole thread is returned; afterId/since fetch only
+     * newer messages and beforeId/limit page back through older ones.
      */
     @GetMapping("/{id}/messages")
-    public ResponseEntity<List<InquiryMessageDTO>> getMessages(@PathVariable Long id) {
-        return ResponseEntity.ok(inquiryService.getInquiryMessagesAgent(id));
+    public ResponseEntity<List<InquiryMessageDTO>> getMessages(
+            @PathVariable Long id,
+            @ModelAttribute MessageHistoryQuery query) {
+        return ResponseEntity.ok(inquiryService.getInquiryMessagesAgent(id, query));
     }
 
     /**
@@ -45,11 +45,15 @@ public class InquiryController {
     }
 
     /**
-     * Get all messages for a specific inquiry.
+     * Get messages for a specific inquiry.
+     * Without parameters the whole thread is returned; afterId/since fetch only
+     * newer messages and beforeId/limit page back through older ones.
      */
     @GetMapping("/{id}/messages")
-    public ResponseEntity<List<InquiryMessageDTO>> getMessages(@PathVariable Long id) {
-        return ResponseEntity.ok(inquiryService.getInquiryMessages(id));
+    public ResponseEntity<List<InquiryMessageDTO>> getMessages(
+            @PathVariable Long id,
+            @ModelAttribute MessageHistoryQuery query) {
+        return ResponseEntity.ok(inquiryService.getInquiryMessages(id, query));
     }
 
     /**
@@ -13,6 +13,7 @@ import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
@@ -46,7 +47,9 @@ public class NotificationController {
     }
 
     @GetMapping("/stream")
-    public SseEmitter stream(@RequestParam("token") String token) {
+    public SseEmitter stream(@RequestParam("token") String token,
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventIdHeader,
+            @RequestParam(value = "lastEventId", required = false) Long lastEventIdParam) {
         String email;
         try {
             email = jwtService.extractUsername(token);
@@ -62,6 +65,9 @@ public class NotificationController {
             throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Token expired or invalid");
         }
 
-        return notificationService.subscribe(email);
+        // EventSource sends the header on its own reconnects; pages that open a
+        // new EventSource pass the id as a query parameter instead.
+        Long lastEventId = lastEventIdHeader != null ? lastEventIdHeader : lastEventIdParam;
+        return notificationService.subscribe(email, lastEventId);
     }
 }
@@ -1,6 +1,10 @@
 package com.example.final_project.controller;
 
+import com.example.final_project.dto.PropertyCardDTO;
+import com.example.final_project.dto.PropertyFilter;
+import com.example.final_project.dto.PropertyPageDTO;
 import com.example.final_project.model.Property;
+import com.example.final_project.model.PropertyMedia;
 import com.example.final_project.model.PropertyType;
 import com.example.final_project.service.PropertyService;
 import lombok.RequiredArgsConstructor;
@@ -22,17 +26,44 @@ public class PropertyController {
     private final PropertyService service;
 
     @GetMapping
-    public ResponseEntity<List<Property>> getAllProperties() {
+    public ResponseEntity<List<PropertyCardDTO>> getAllProperties() {
         return ResponseEntity.ok(service.getAllProperties());
     }
 
+    /**
+     * Cursor-paginated, filterable listing for the browse page.
+     * Returns a bounded page plus an opaque nextCursor for the following page.
+     */
+    @GetMapping("/browse")
+    public ResponseEntity<?> browseProperties(
+            @ModelAttribute PropertyFilter filter,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", required = false) Integer size) {
+        try {
+            PropertyPageDTO<PropertyCardDTO> page = service.browseProperties(filter, cursor, size);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(java.util.Map.of(
+                    "success", false,
+                    "message", e.getMessage()));
+        }
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Property> getPropertyById(@PathVariable Long id) {
         return ResponseEntity.ok(service.getPropertyById(id));
     }
 
+    /**
+     * Uploaded images for a property with their thumbnail/gallery/full variants.
+     */
+    @GetMapping("/{id}/media")
+    public ResponseEntity<List<PropertyMedia>> getPropertyMedia(@PathVariable Long id) {
+        return ResponseEntity.ok(service.getPropertyMedia(id));
+    }
+
     @GetMapping("/search")
-    public ResponseEntity<List<Property>> searchProperties(@RequestParam String q) {
+    public ResponseEntity<List<PropertyCardDTO>> searchProperties(@RequestParam String q) {
         return ResponseEntity.ok(service.searchProperties(q));
     }
 
@@ -139,7 +170,7 @@ public class PropertyController {
     }
 
     @GetMapping("/type/{type}")
-    public ResponseEntity<List<Property>> getPropertiesByType(@PathVariable PropertyType type) {
+    public ResponseEntity<List<PropertyCardDTO>> getPropertiesByType(@PathVariable PropertyType type) {
         return ResponseEntity.ok(service.getPropertiesByType(type));
     }
 
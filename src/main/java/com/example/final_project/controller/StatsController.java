@@ -1,10 +1,7 @@
 package com.example.final_project.controller;
 
 import com.example.final_project.dto.StatsDTO;
-import com.example.final_project.model.PropertyStatus;
-import com.example.final_project.repository.AgentRepository;
-import com.example.final_project.repository.PropertyRepository;
-import com.example.final_project.repository.UserRepository;
+import com.example.final_project.service.StatsService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -16,29 +13,11 @@ import org.springframework.web.bind.annotation.RestController;
 @RequiredArgsConstructor
 public class StatsController {
 
-    private final UserRepository userRepository;
-    private final PropertyRepository propertyRepository;
-    private final AgentRepository agentRepository;
+    private final StatsService statsService;
 
     @GetMapping
     public ResponseEntity<StatsDTO> getStats() {
-        long totalUsers = userRepository.count();
-        long totalProperties = propertyRepository.count();
-        long activeListings = propertyRepository.countByStatus(PropertyStatus.AVAILABLE);
-        long pendingProperties = propertyRepository.countByStatus(PropertyStatus.PENDING);
-        long soldProperties = propertyRepository.countByStatus(PropertyStatus.SOLD);
-        long rentedProperties = propertyRepository.countByStatus(PropertyStatus.RENTED);
-        long totalAgents = agentRepository.count();
-
-        StatsDTO stats = new StatsDTO(
-                totalUsers,
-                totalProperties,
-                activeListings,
-                pendingProperties,
-                soldProperties,
-                rentedProperties,
-                totalAgents);
-
-        return ResponseEntity.ok(stats);
+        // Served from in-memory counters; see StatsService.
+        return ResponseEntity.ok(statsService.getStats());
     }
 }
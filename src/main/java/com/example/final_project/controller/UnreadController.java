@@ -0,0 +1,38 @@
+package com.example.final_project.controller;
+
+import com.example.final_project.dto.UnreadCountsDTO;
+import com.example.final_project.model.Role;
+import com.example.final_project.model.User;
+import com.example.final_project.service.UnreadCounters;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Badge counts for the nav bar. Served entirely from UnreadCounters, with the
+ * user taken from the authenticated principal, so a poll never touches the DB
+ * once the counters are warm.
+ */
+@RestController
+@RequestMapping("/api/unread-counts")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class UnreadController {
+
+    private final UnreadCounters unreadCounters;
+
+    @GetMapping
+    public ResponseEntity<UnreadCountsDTO> getUnreadCounts(@AuthenticationPrincipal User user) {
+        Long assigned = user.getRole() == Role.AGENT ? unreadCounters.inquiriesUnreadByAgent(user.getId()) : null;
+        Long admin = user.getRole() == Role.ADMIN ? unreadCounters.inquiriesUnreadByAdmin() : null;
+        return ResponseEntity.ok(new UnreadCountsDTO(
+                unreadCounters.notificationsUnread(user.getEmail()),
+                unreadCounters.inquiriesUnreadByUser(user.getId()),
+                assigned,
+                admin));
+    }
+}
@@ -41,6 +41,7 @@ public class InquiryDTO {
 
     private InquiryStatus status;
     private String lastMessagePreview;
+    private Integer messageCount;
     private LocalDateTime lastMessageAt;
     private LocalDateTime createdAt;
     private boolean hasUnread;
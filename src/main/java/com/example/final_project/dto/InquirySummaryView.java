@@ -0,0 +1,63 @@
+package com.example.final_project.dto;
+
+import com.example.final_project.model.InquiryStatus;
+import com.example.final_project.model.PropertyType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Flat projection of an inquiry joined with its user, property and assigned agent.
+ * Lets inbox listings build InquiryDTO rows from a single query.
+ */
+public interface InquirySummaryView {
+    Long getId();
+
+    Long getUserId();
+
+    String getUserName();
+
+    String getUserEmail();
+
+    Long getPropertyId();
+
+    String getPropertyTitle();
+
+    String getPropertyAddress();
+
+    String getPropertyImage();
+
+    BigDecimal getPropertyPrice();
+
+    Integer getPropertyBedrooms();
+
+    Integer getPropertyBathrooms();
+
+    Double getPropertyAreaSqFt();
+
+    PropertyType getPropertyType();
+
+    Long getAssignedAgentId();
+
+    String getAssignedAgentName();
+
+    String getAssignedAgentProfileImage();
+
+    String getAssignedAgentPhone();
+
+    String getAssignedAgentTitle();
+
+    InquiryStatus getStatus();
+
+    String getLastMessagePreview();
+
+    Integer getMessageCount();
+
+    LocalDateTime getLastMessageAt();
+
+    LocalDateTime getLastReadAtUser();
+
+    LocalDateTime getLastReadAtAdmin();
+
+    LocalDateTime getCreatedAt();
+}
@@ -0,0 +1,27 @@
+package com.example.final_project.dto;
+
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+/**
+ * Optional window for fetching part of an inquiry thread.
+ * afterId / since return newer messages (for polling deltas);
+ * beforeId returns the last "limit" messages older than that id (for scrollback).
+ * With no fields set the whole thread is returned.
+ */
+@Data
+public class MessageHistoryQuery {
+    private Long afterId;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime since;
+
+    private Long beforeId;
+    private Integer limit;
+
+    public boolean isEmpty() {
+        return afterId == null && since == null && beforeId == null && limit == null;
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.final_project.dto;
+
+import com.example.final_project.model.HouseType;
+import com.example.final_project.model.PropertyStatus;
+import com.example.final_project.model.PropertyType;
+
+import java.math.BigDecimal;
+
+/**
+ * Slim listing card returned by list endpoints, built directly by a JPQL
+ * constructor query so no entity graph is loaded or serialized.
+ * thumbnailUrl falls back to the main image until a thumbnail is generated;
+ * summary is the start of the description.
+ */
+public record PropertyCardDTO(
+        Long id,
+        String title,
+        String address,
+        String summary,
+        BigDecimal price,
+        String thumbnailUrl,
+        PropertyType type,
+        HouseType houseType,
+        Integer bedrooms,
+        Integer bathrooms,
+        Double areaSqFt,
+        PropertyStatus status,
+        Long assignedAgentId,
+        String agentName) {
+}
@@ -0,0 +1,25 @@
+package com.example.final_project.dto;
+
+import com.example.final_project.model.HouseType;
+import com.example.final_project.model.PropertyStatus;
+import com.example.final_project.model.PropertyType;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+/**
+ * Optional filters for the paginated property browse endpoint.
+ * Any field left null is not applied.
+ */
+@Data
+public class PropertyFilter {
+    private PropertyType type;
+    private HouseType houseType;
+    private PropertyStatus status;
+    private BigDecimal minPrice;
+    private BigDecimal maxPrice;
+    private Integer minBedrooms;
+    private Integer minBathrooms;
+    private Double minArea;
+    private Double maxArea;
+}
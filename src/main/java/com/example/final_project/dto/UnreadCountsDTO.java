@@ -0,0 +1,11 @@
+package com.example.final_project.dto;
+
+/**
+ * Badge counts for the signed-in user. Staff counts are null for roles that do not see them.
+ */
+public record UnreadCountsDTO(
+        long notifications,
+        long inquiries,
+        Long assignedInquiries,
+        Long adminInquiries) {
+}
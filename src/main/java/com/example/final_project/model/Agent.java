@@ -5,6 +5,8 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
 
@@ -14,8 +16,13 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @Entity
 @Table(name = "agents")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Agent.CACHE_REGION)
 public class Agent {
 
+    /** Second-level cache region, declared in application.conf. */
+    public static final String CACHE_REGION = "agents";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -0,0 +1,48 @@
+package com.example.final_project.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A real-time message published by one node for the other nodes to deliver to
+ * their own WebSocket subscribers. Rows are short-lived and pruned on a schedule.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "cluster_events", indexes = @Index(name = "idx_cluster_events_created_at", columnList = "createdAt"))
+public class ClusterEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 64)
+    private String originNode;
+
+    @Column(nullable = false)
+    private String destination;
+
+    // Serialized STOMP body (JSON)
+    @Lob
+    @Column(nullable = false)
+    private byte[] payload;
+
+    // Stamped by the database, so every node compares ages on the same clock
+    @Column(insertable = false, updatable = false, columnDefinition = "DATETIME(6) DEFAULT CURRENT_TIMESTAMP(6)")
+    private LocalDateTime createdAt;
+}
@@ -5,6 +5,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -19,7 +20,14 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "inquiries")
+@DynamicUpdate // Only write changed columns so buffered read receipts are not overwritten
+@Table(name = "inquiries", indexes = {
+        // Inbox finders filter by owner or agent and sort by lastMessageAt. MySQL also reuses these for the
+        // foreign keys; H2 keeps its own single-column FK indexes alongside them.
+        @Index(name = "idx_inquiries_user_last_message", columnList = "user_id, last_message_at DESC"),
+        @Index(name = "idx_inquiries_agent_last_message", columnList = "assigned_agent_id, last_message_at DESC"),
+        @Index(name = "idx_inquiries_status_last_message", columnList = "status, last_message_at DESC")
+})
 public class Inquiry {
 
     @Id
@@ -56,6 +64,13 @@ public class Inquiry {
     // Last time admin/agent viewed this inquiry
     private LocalDateTime lastReadAtAdmin;
 
+    // Denormalized summary of the thread, updated whenever a message is added
+    @Column(length = 120)
+    private String lastMessagePreview;
+
+    @Builder.Default
+    private Integer messageCount = 0;
+
     private LocalDateTime createdAt;
 
     // All messages in this inquiry thread
@@ -17,7 +17,8 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "inquiry_messages")
+@Table(name = "inquiry_messages", indexes = @Index(name = "idx_inquiry_messages_inquiry_created",
+        columnList = "inquiry_id, created_at, id"))
 public class InquiryMessage {
 
     @Id
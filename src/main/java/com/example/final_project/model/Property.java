@@ -11,6 +11,7 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
@@ -20,6 +21,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -31,7 +33,11 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "properties")
+@Table(name = "properties", indexes = {
+        @Index(name = "idx_properties_status", columnList = "status"),
+        @Index(name = "idx_properties_owner_email", columnList = "owner_email"),
+        @Index(name = "idx_properties_type", columnList = "type")
+})
 public class Property {
 
     @Id
@@ -59,8 +65,13 @@ public class Property {
     // Main thumbnail shown in cards.
     private String imageUrl;
 
+    // Downscaled card-sized copy of imageUrl, filled in by the derivative pipeline.
+    private String thumbnailUrl;
+
     // All image URLs for gallery/detail views.
+    // Batch-fetched so a list of N properties loads these in one IN query, not N.
     @ElementCollection
+    @BatchSize(size = 50)
     @CollectionTable(name = "property_images", joinColumns = @JoinColumn(name = "property_id"))
     @Column(name = "image_url")
     @Builder.Default
@@ -71,6 +82,7 @@ public class Property {
     private Double areaSqFt;
 
     @ElementCollection
+    @BatchSize(size = 50)
     @CollectionTable(name = "property_facilities", joinColumns = @JoinColumn(name = "property_id"))
     @Column(name = "facility")
     @Builder.Default
@@ -8,6 +8,9 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
 
 @Data
 @Builder
@@ -29,6 +32,16 @@ public class PropertyMedia {
     @Column(nullable = false)
     private String filePath;
 
+    // SHA-256 of the stored file, verified at upload time
+    @Column(length = 64)
+    private String contentHash;
+
+    // Resized variants generated asynchronously after upload (null until ready
+    // or when the format cannot be decoded by ImageIO).
+    private String thumbnailPath;
+    private String galleryPath;
+    private String fullPath;
+
     @Column(name = "uploaded_at")
     private LocalDateTime uploadedAt;
 
@@ -36,4 +49,11 @@ public class PropertyMedia {
     protected void onCreate() {
         uploadedAt = LocalDateTime.now();
     }
+
+    /**
+     * URL paths of the stored original and its generated variants.
+     */
+    public List<String> storedFileUrls() {
+        return Stream.of(filePath, thumbnailPath, galleryPath, fullPath).filter(Objects::nonNull).toList();
+    }
 }
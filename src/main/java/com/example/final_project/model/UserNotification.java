@@ -5,6 +5,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
@@ -19,7 +20,10 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "user_notifications")
+@Table(name = "user_notifications", indexes = {
+        @Index(name = "idx_user_notifications_recipient_created", columnList = "recipient_email, created_at"),
+        @Index(name = "idx_user_notifications_recipient_unread", columnList = "recipient_email, is_read")
+})
 public class UserNotification {
 
     @Id
@@ -2,7 +2,10 @@ package com.example.final_project.repository;
 
 import com.example.final_project.model.Agent;
 import com.example.final_project.model.AgentStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -11,8 +14,14 @@ import java.util.Optional;
 @Repository
 public interface AgentRepository extends JpaRepository<Agent, Long> {
 
+    // Served from the query cache; Hibernate invalidates it on any write to agents.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Agent> findByStatus(AgentStatus status);
 
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Agent> findAll();
+
     Optional<Agent> findByEmail(String email);
 
     long countByStatus(AgentStatus status);
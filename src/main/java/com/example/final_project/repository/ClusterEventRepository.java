@@ -0,0 +1,28 @@
+package com.example.final_project.repository;
+
+import com.example.final_project.model.ClusterEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ClusterEventRepository extends JpaRepository<ClusterEvent, Long> {
+
+    List<ClusterEvent> findByIdGreaterThanOrderByIdAsc(Long afterId, Pageable pageable);
+
+    @Query("SELECT MAX(e.id) FROM ClusterEvent e")
+    Long findMaxId();
+
+    // Same clock as the created_at column default
+    @Query(value = "SELECT LOCALTIMESTAMP(6)", nativeQuery = true)
+    LocalDateTime findDatabaseTime();
+
+    @Modifying
+    @Query("DELETE FROM ClusterEvent e WHERE e.createdAt < :cutoff")
+    int deleteOlderThan(LocalDateTime cutoff);
+}
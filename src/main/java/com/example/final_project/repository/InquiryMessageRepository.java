@@ -1,9 +1,12 @@
 package com.example.final_project.repository;
 
 import com.example.final_project.model.InquiryMessage;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -16,4 +19,40 @@ public interface InquiryMessageRepository extends JpaRepository<InquiryMessage,
      * Find all messages for a specific inquiry, ordered by creation time.
      */
     List<InquiryMessage> findByInquiryIdOrderByCreatedAtAsc(Long inquiryId);
+
+    /**
+     * Message count and newest message id per inquiry still missing its summary columns.
+     */
+    @Query("SELECT m.inquiry.id AS inquiryId, COUNT(m) AS messageCount, MAX(m.id) AS lastMessageId"
+            + " FROM InquiryMessage m WHERE m.inquiry.lastMessagePreview IS NULL GROUP BY m.inquiry.id")
+    List<MessageStats> findStatsForInquiriesWithoutPreview();
+
+    /**
+     * Messages newer than a known message id, oldest first.
+     */
+    List<InquiryMessage> findByInquiryIdAndIdGreaterThanOrderByIdAsc(Long inquiryId, Long afterId, Pageable pageable);
+
+    /**
+     * Messages created after a timestamp, oldest first.
+     */
+    List<InquiryMessage> findByInquiryIdAndCreatedAtAfterOrderByCreatedAtAscIdAsc(Long inquiryId,
+            LocalDateTime since, Pageable pageable);
+
+    /**
+     * Messages older than a known message id, newest first.
+     */
+    List<InquiryMessage> findByInquiryIdAndIdLessThanOrderByIdDesc(Long inquiryId, Long beforeId, Pageable pageable);
+
+    /**
+     * Latest messages of a thread, newest first.
+     */
+    List<InquiryMessage> findByInquiryIdOrderByIdDesc(Long inquiryId, Pageable pageable);
+
+    interface MessageStats {
+        Long getInquiryId();
+
+        Long getMessageCount();
+
+        Long getLastMessageId();
+    }
 }
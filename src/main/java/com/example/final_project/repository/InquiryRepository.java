@@ -1,18 +1,34 @@
 package com.example.final_project.repository;
 
+import com.example.final_project.dto.InquirySummaryView;
 import com.example.final_project.model.Inquiry;
 import com.example.final_project.model.InquiryStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface InquiryRepository extends JpaRepository<Inquiry, Long> {
 
+    // Shared select list for inbox projections: one row per inquiry, no lazy loads.
+    String SUMMARY_SELECT = "SELECT i.id AS id, u.id AS userId, u.name AS userName, u.email AS userEmail,"
+            + " p.id AS propertyId, p.title AS propertyTitle, p.address AS propertyAddress,"
+            + " p.imageUrl AS propertyImage, p.price AS propertyPrice, p.bedrooms AS propertyBedrooms,"
+            + " p.bathrooms AS propertyBathrooms, p.areaSqFt AS propertyAreaSqFt, p.type AS propertyType,"
+            + " a.id AS assignedAgentId, a.name AS assignedAgentName,"
+            + " a.profileImageUrl AS assignedAgentProfileImage, a.phone AS assignedAgentPhone,"
+            + " a.title AS assignedAgentTitle, i.status AS status,"
+            + " i.lastMessagePreview AS lastMessagePreview, i.messageCount AS messageCount,"
+            + " i.lastMessageAt AS lastMessageAt, i.lastReadAtUser AS lastReadAtUser,"
+            + " i.lastReadAtAdmin AS lastReadAtAdmin, i.createdAt AS createdAt"
+            + " FROM Inquiry i JOIN i.user u JOIN i.property p LEFT JOIN i.assignedAgent a";
+
     // Find inquiries for a specific property
     List<Inquiry> findByPropertyId(Long propertyId);
 
@@ -44,6 +60,67 @@ public interface InquiryRepository extends JpaRepository<Inquiry, Long> {
     @Query("SELECT COUNT(i) FROM Inquiry i WHERE i.user.id = :userId AND i.lastMessageAt > COALESCE(i.lastReadAtUser, i.createdAt)")
     Long countUnreadForUser(@Param("userId") Long userId);
 
+    // Inquiries that are unread on at least one side, for seeding UnreadCounters
+    @Query("SELECT i.id AS id, i.user.id AS userId, lu.id AS agentUserId, i.lastMessageAt AS lastMessageAt,"
+            + " i.lastReadAtUser AS lastReadAtUser, i.lastReadAtAdmin AS lastReadAtAdmin, i.createdAt AS createdAt"
+            + " FROM Inquiry i LEFT JOIN i.assignedAgent a LEFT JOIN a.linkedUser lu"
+            + " WHERE i.lastReadAtAdmin IS NULL OR i.lastMessageAt > i.lastReadAtAdmin"
+            + " OR i.lastMessageAt > COALESCE(i.lastReadAtUser, i.createdAt)")
+    List<UnreadState> findUnreadStates();
+
     // Count pending inquiries for admin dashboard
     Long countByStatus(InquiryStatus status);
+
+    // Admin inbox, optionally filtered by status
+    @Query(SUMMARY_SELECT + " WHERE (:status IS NULL OR i.status = :status) ORDER BY i.lastMessageAt DESC")
+    List<InquirySummaryView> findSummaries(@Param("status") InquiryStatus status);
+
+    // User inbox
+    @Query(SUMMARY_SELECT + " WHERE u.id = :userId ORDER BY i.lastMessageAt DESC")
+    List<InquirySummaryView> findSummariesForUser(@Param("userId") Long userId);
+
+    // Agent inbox, optionally filtered by status
+    @Query(SUMMARY_SELECT + " WHERE a.id = :agentId AND (:status IS NULL OR i.status = :status)"
+            + " ORDER BY i.lastMessageAt DESC")
+    List<InquirySummaryView> findSummariesForAgent(@Param("agentId") Long agentId,
+            @Param("status") InquiryStatus status);
+
+    // Append a message to the summary columns in one statement so concurrent sends never lose a count.
+    // The preview is assigned first: MySQL evaluates SET left to right, and it must see the old lastMessageAt.
+    @Modifying
+    @Query("UPDATE Inquiry i SET"
+            + " i.lastMessagePreview = CASE WHEN i.lastMessageAt IS NULL OR i.lastMessageAt <= :at"
+            + " THEN :preview ELSE i.lastMessagePreview END,"
+            + " i.lastMessageAt = CASE WHEN i.lastMessageAt IS NULL OR i.lastMessageAt <= :at"
+            + " THEN :at ELSE i.lastMessageAt END,"
+            + " i.messageCount = COALESCE(i.messageCount, 0) + 1"
+            + " WHERE i.id = :id")
+    int recordMessage(@Param("id") Long id, @Param("at") LocalDateTime at, @Param("preview") String preview);
+
+    // Inquiries created before the user's read mark was set on creation: without any
+    // staff message there is nothing unread for the user, so mark them read up to now.
+    @Modifying
+    @Query("UPDATE Inquiry i SET i.lastReadAtUser = i.lastMessageAt"
+            + " WHERE i.lastReadAtUser IS NULL AND NOT EXISTS (SELECT m.id FROM InquiryMessage m"
+            + " WHERE m.inquiry.id = i.id AND m.senderId <> i.user.id)")
+    int markCustomerOnlyInquiriesReadByUser();
+
+    // Legacy rows created before the summary columns existed
+    List<Inquiry> findByLastMessagePreviewIsNull();
+
+    interface UnreadState {
+        Long getId();
+
+        Long getUserId();
+
+        Long getAgentUserId();
+
+        LocalDateTime getLastMessageAt();
+
+        LocalDateTime getLastReadAtUser();
+
+        LocalDateTime getLastReadAtAdmin();
+
+        LocalDateTime getCreatedAt();
+    }
 }
@@ -4,6 +4,13 @@ import com.example.final_project.model.PropertyMedia;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface PropertyMediaRepository extends JpaRepository<PropertyMedia, Long> {
+    List<PropertyMedia> findByPropertyIdOrderByIdAsc(Long propertyId);
+
+    // Rows just inserted for these stored files, without the listing's existing media
+    List<PropertyMedia> findByPropertyIdAndFilePathIn(Long propertyId, Collection<String> filePaths);
 }
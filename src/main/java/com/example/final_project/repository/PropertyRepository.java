@@ -1,11 +1,19 @@
 package com.example.final_project.repository;
 
+import com.example.final_project.dto.PropertyCardDTO;
+import com.example.final_project.model.HouseType;
 import com.example.final_project.model.Property;
 import com.example.final_project.model.PropertyStatus;
 import com.example.final_project.model.PropertyType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -22,5 +30,77 @@ public interface PropertyRepository extends JpaRepository<Property, Long> {
 
     long countByStatus(PropertyStatus status);
 
+    // Set the card thumbnail without rewriting the row, and only while that image is still the cover.
+    @Modifying
+    @Query("UPDATE Property p SET p.thumbnailUrl = :thumbnailUrl WHERE p.id = :id AND p.imageUrl = :imageUrl")
+    int updateThumbnailIfCover(@Param("id") Long id, @Param("imageUrl") String imageUrl,
+            @Param("thumbnailUrl") String thumbnailUrl);
+
+    // Per-status totals in one round trip (used to seed dashboard counters).
+    @Query("SELECT p.status AS status, COUNT(p) AS total FROM Property p GROUP BY p.status")
+    List<StatusCount> countGroupedByStatus();
+
+    interface StatusCount {
+        PropertyStatus getStatus();
+
+        Long getTotal();
+    }
+
     List<Property> findByOwnerEmail(String ownerEmail);
+
+    String CARD_SELECT = "SELECT new com.example.final_project.dto.PropertyCardDTO("
+            + "p.id, p.title, p.address, SUBSTRING(p.description, 1, 200), p.price,"
+            + " COALESCE(p.thumbnailUrl, p.imageUrl), p.type, p.houseType, p.bedrooms, p.bathrooms,"
+            + " p.areaSqFt, p.status, aa.id, ag.name)"
+            + " FROM Property p LEFT JOIN p.assignedAgent aa LEFT JOIN p.agent ag";
+
+    String PAGE_FILTER = " WHERE (:afterId IS NULL OR p.id < :afterId)"
+            + " AND (:type IS NULL OR p.type = :type)"
+            + " AND (:houseType IS NULL OR p.houseType = :houseType)"
+            + " AND (:status IS NULL OR p.status = :status)"
+            + " AND (:minPrice IS NULL OR p.price >= :minPrice)"
+            + " AND (:maxPrice IS NULL OR p.price <= :maxPrice)"
+            + " AND (:minBedrooms IS NULL OR p.bedrooms >= :minBedrooms)"
+            + " AND (:minBathrooms IS NULL OR p.bathrooms >= :minBathrooms)"
+            + " AND (:minArea IS NULL OR p.areaSqFt >= :minArea)"
+            + " AND (:maxArea IS NULL OR p.areaSqFt <= :maxArea)"
+            + " ORDER BY p.id DESC";
+
+    @Query(CARD_SELECT + " ORDER BY p.id")
+    List<PropertyCardDTO> findAllCards();
+
+    @Query(CARD_SELECT + " WHERE p.type = :type ORDER BY p.id")
+    List<PropertyCardDTO> findCardsByType(@Param("type") PropertyType type);
+
+    @Query(CARD_SELECT + " WHERE p.id IN :ids")
+    List<PropertyCardDTO> findCardsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Keyset page ordered newest first. Rows inserted while a client is paging
+    // get higher ids and never shift the rows behind the cursor.
+    @Query("SELECT p FROM Property p" + PAGE_FILTER)
+    List<Property> findPageAfter(@Param("afterId") Long afterId,
+            @Param("type") PropertyType type,
+            @Param("houseType") HouseType houseType,
+            @Param("status") PropertyStatus status,
+            @Param("minPrice") BigDecimal minPrice,
+            @Param("maxPrice") BigDecimal maxPrice,
+            @Param("minBedrooms") Integer minBedrooms,
+            @Param("minBathrooms") Integer minBathrooms,
+            @Param("minArea") Double minArea,
+            @Param("maxArea") Double maxArea,
+            Pageable pageable);
+
+    // Same page as findPageAfter, as listing cards.
+    @Query(CARD_SELECT + PAGE_FILTER)
+    List<PropertyCardDTO> findCardPageAfter(@Param("afterId") Long afterId,
+            @Param("type") PropertyType type,
+            @Param("houseType") HouseType houseType,
+            @Param("status") PropertyStatus status,
+            @Param("minPrice") BigDecimal minPrice,
+            @Param("maxPrice") BigDecimal maxPrice,
+            @Param("minBedrooms") Integer minBedrooms,
+            @Param("minBathrooms") Integer minBathrooms,
+            @Param("minArea") Double minArea,
+            @Param("maxArea") Double maxArea,
+            Pageable pageable);
 }
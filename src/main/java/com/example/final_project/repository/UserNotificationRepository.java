@@ -2,6 +2,7 @@ package com.example.final_project.repository;
 
 import com.example.final_project.model.UserNotification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -12,4 +13,11 @@ public interface UserNotificationRepository extends JpaRepository<UserNotificati
     List<UserNotification> findTop50ByRecipientEmailOrderByCreatedAtDesc(String recipientEmail);
 
     Optional<UserNotification> findByIdAndRecipientEmail(Long id, String recipientEmail);
+
+    List<UserNotification> findTop50ByRecipientEmailAndIdGreaterThanOrderByIdAsc(String recipientEmail, Long afterId);
+
+    long countByRecipientEmailAndIsReadFalse(String recipientEmail);
+
+    @Query("SELECT MAX(n.id) FROM UserNotification n")
+    Long findMaxId();
 }
@@ -1,5 +1,6 @@
 package com.example.final_project.repository;
 
+import com.example.final_project.model.Role;
 import com.example.final_project.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
@@ -11,4 +12,8 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
 
     boolean existsByEmail(String email);
+
+    // Agent lookup by display name, case-insensitive; backed by idx_users_role_name.
+    // First by id matches the old findAll() scan order.
+    Optional<User> findFirstByRoleAndNameIgnoreCaseOrderByIdAsc(Role role, String name);
 }
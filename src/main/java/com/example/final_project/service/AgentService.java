@@ -13,6 +13,9 @@ import java.util.List;
 public class AgentService {
 
     private final AgentRepository agentRepository;
+    private final StatsService statsService;
+    private final ReferenceDataCache referenceData;
+    private final JwtAuthenticationCache authenticationCache;
 
     public List<Agent> getAllAgents() {
         return agentRepository.findAll();
@@ -37,7 +40,10 @@ public class AgentService {
         if (agent.getPropertiesSold() == null) {
             agent.setPropertiesSold(0);
         }
-        return agentRepository.save(agent);
+        Agent saved = agentRepository.save(agent);
+        statsService.agentCreated();
+        TransactionCallbacks.afterCommit(this::agentsChanged);
+        return saved;
     }
 
     public Agent updateAgent(Long id, Agent updatedAgent) {
@@ -58,11 +64,25 @@ public class AgentService {
         existingAgent.setRating(updatedAgent.getRating());
         existingAgent.setStatus(updatedAgent.getStatus());
 
-        return agentRepository.save(existingAgent);
+        Agent saved = agentRepository.save(existingAgent);
+        TransactionCallbacks.afterCommit(this::agentsChanged);
+        return saved;
     }
 
     public void deleteAgent(Long id) {
-        agentRepository.deleteById(id);
+        agentRepository.findById(id).ifPresent(agent -> {
+            agentRepository.delete(agent);
+            statsService.agentDeleted();
+            TransactionCallbacks.afterCommit(this::agentsChanged);
+        });
+    }
+
+    /**
+     * Agent ids are carried on cached principals, so drop those along with the lookups.
+     */
+    private void agentsChanged() {
+        referenceData.evictAgents();
+        authenticationCache.clear();
     }
 
     public long countActiveAgents() {
@@ -20,6 +20,7 @@ public class AuthenticationService {
         private final PasswordEncoder passwordEncoder;
         private final AuthenticationManager authenticationManager;
         private final JwtService jwtService;
+        private final StatsService statsService;
 
         public AuthResponse register(RegisterRequest request) {
                 var user = User.builder()
@@ -30,6 +31,7 @@ public class AuthenticationService {
                                 .enabled(true) // Enable user immediately for regular registration
                                 .build();
                 userRepository.save(user);
+                statsService.userRegistered();
 
                 // Generate JWT token for newly registered user
                 String jwtToken = jwtService.generateToken(user);
@@ -0,0 +1,14 @@
+package com.example.final_project.service;
+
+/**
+ * Carries real-time STOMP messages to the other application nodes, which deliver
+ * them to their own subscribers. Selected with {@code app.cluster.relay}.
+ */
+public interface ClusterEventRelay {
+
+    /**
+     * Hand an already-serialized message to the other nodes.
+     * Local subscribers have been served by the caller.
+     */
+    void publish(String destination, byte[] payload);
+}
@@ -1,5 +1,7 @@
 package com.example.final_project.service;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.UrlResource;
@@ -10,12 +12,18 @@ import org.springframework.web.multipart.MultipartFile;
 import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.MalformedURLException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.UUID;
 
@@ -28,6 +36,18 @@ public class FileStorageService {
 
     private Path uploadPath;
 
+    private final Counter bytesUploaded;
+    private final Counter bytesDerived;
+    private final Counter bytesVerified;
+    private final Counter bytesServed;
+
+    public FileStorageService(MeterRegistry meterRegistry) {
+        this.bytesUploaded = meterRegistry.counter("storage.bytes.written", "kind", "upload");
+        this.bytesDerived = meterRegistry.counter("storage.bytes.written", "kind", "derivative");
+        this.bytesVerified = meterRegistry.counter("storage.bytes.read", "kind", "verify");
+        this.bytesServed = meterRegistry.counter("storage.bytes.read", "kind", "serve");
+    }
+
     @PostConstruct
     public void init() {
         this.uploadPath = Paths.get(uploadDir).toAbsolutePath().normalize();
@@ -51,6 +71,14 @@ public class FileStorageService {
      * Store a single file and return its URL path
      */
     public String storeFile(MultipartFile file) {
+        return storeFileVerified(file).url();
+    }
+
+    /**
+     * Store a single file, hashing it while it streams to disk and verifying the
+     * stored copy against that hash before returning.
+     */
+    public StoredFile storeFileVerified(MultipartFile file) {
         // Validate file type
         String contentType = file.getContentType();
         if (contentType == null || !ALLOWED_CONTENT_TYPES.contains(contentType.toLowerCase())) {
@@ -75,21 +103,56 @@ public class FileStorageService {
                 throw new RuntimeException("Invalid file path: " + uniqueFileName);
             }
 
-            // Copy file to target location
+            // Stream to the target location, hashing on the way
             Path targetLocation = this.uploadPath.resolve(uniqueFileName);
-            Files.copy(file.getInputStream(), targetLocation, StandardCopyOption.REPLACE_EXISTING);
+            MessageDigest digest = sha256();
+            long written;
+            try (InputStream in = new DigestInputStream(file.getInputStream(), digest)) {
+                written = Files.copy(in, targetLocation, StandardCopyOption.REPLACE_EXISTING);
+            }
+            String expectedHash = HexFormat.of().formatHex(digest.digest());
+            bytesUploaded.increment(written);
+
+            // Re-read the stored copy (normally still in the page cache) and compare
+            String storedHash = hashOf(targetLocation);
+            bytesVerified.increment(written);
+            if (written != file.getSize() || !expectedHash.equals(storedHash)) {
+                Files.deleteIfExists(targetLocation);
+                throw new RuntimeException("Stored file failed integrity check: " + originalFileName);
+            }
 
             log.info("File stored successfully: {} -> {} (size: {} bytes)",
-                    originalFileName, uniqueFileName, file.getSize());
+                    originalFileName, uniqueFileName, written);
 
             // Return URL path that can be used to access the file
-            return "/api/files/" + uniqueFileName;
+            return new StoredFile("/api/files/" + uniqueFileName, expectedHash, written);
         } catch (IOException e) {
             log.error("Failed to store file {}: {}", uniqueFileName, e.getMessage());
             throw new RuntimeException("Could not store file " + uniqueFileName, e);
         }
     }
 
+    /**
+     * Store a generated derivative next to its original and return its URL path.
+     * The name is derived from the original, e.g. "abc.png" + "thumb" -> "abc_thumb.jpg".
+     */
+    public String storeDerivative(String originalFileName, String variant, String extension, byte[] content) {
+        String baseName = originalFileName.contains(".")
+                ? originalFileName.substring(0, originalFileName.lastIndexOf('.'))
+                : originalFileName;
+        String derivedName = baseName + "_" + variant + "." + extension;
+        if (derivedName.contains("..") || derivedName.contains("/")) {
+            throw new RuntimeException("Invalid file path: " + derivedName);
+        }
+        try {
+            Files.write(this.uploadPath.resolve(derivedName), content);
+            bytesDerived.increment(content.length);
+            return "/api/files/" + derivedName;
+        } catch (IOException e) {
+            throw new RuntimeException("Could not store file " + derivedName, e);
+        }
+    }
+
     /**
      * Store multiple files and return list of URL paths
      */
@@ -121,6 +184,41 @@ public class FileStorageService {
         }
     }
 
+    /**
+     * Resolve a stored file on disk, rejecting names that escape the upload directory.
+     */
+    public Path resolveStoredFile(String fileName) {
+        Path filePath = this.uploadPath.resolve(fileName).normalize();
+        if (!filePath.startsWith(this.uploadPath) || !Files.isRegularFile(filePath)) {
+            throw new RuntimeException("File not found: " + fileName);
+        }
+        return filePath;
+    }
+
+    /**
+     * Count bytes of a stored file sent to a client. The controller streams files
+     * itself (or hands them to sendfile), so it reports the length here.
+     */
+    public void recordServed(long bytes) {
+        bytesServed.increment(bytes);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static String hashOf(Path path) throws IOException {
+        MessageDigest digest = sha256();
+        try (InputStream in = new DigestInputStream(Files.newInputStream(path), digest)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
     /**
      * Delete a file
      */
@@ -132,4 +230,10 @@ public class FileStorageService {
             throw new RuntimeException("Could not delete file: " + fileName, e);
         }
     }
+
+    /**
+     * A stored upload: its public URL path, SHA-256 of the content and size in bytes.
+     */
+    public record StoredFile(String url, String sha256, long size) {
+    }
 }
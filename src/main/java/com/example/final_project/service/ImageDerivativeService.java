@@ -0,0 +1,198 @@
+package com.example.final_project.service;
+
+import com.example.final_project.model.PropertyMedia;
+import com.example.final_project.repository.PropertyMediaRepository;
+import com.example.final_project.repository.PropertyRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generates resized copies of uploaded listing photos (card thumbnail, gallery, full)
+ * using only the JDK's ImageIO. Work runs on a small background pool after the upload
+ * transaction commits, so submissions never wait for resizing.
+ */
+@Service
+@Slf4j
+public class ImageDerivativeService {
+
+    static final int THUMBNAIL_WIDTH = 480;
+    static final int GALLERY_WIDTH = 1280;
+    static final int FULL_WIDTH = 2048;
+    private static final float JPEG_QUALITY = 0.82f;
+
+    private final FileStorageService fileStorageService;
+    private final PropertyMediaRepository propertyMediaRepository;
+    private final PropertyRepository propertyRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolExecutor executor;
+
+    public ImageDerivativeService(FileStorageService fileStorageService,
+            PropertyMediaRepository propertyMediaRepository,
+            PropertyRepository propertyRepository,
+            TransactionTemplate transactionTemplate,
+            @Value("${app.images.derivative-threads:2}") int threads,
+            @Value("${app.images.derivative-queue:500}") int queueSize) {
+        this.fileStorageService = fileStorageService;
+        this.propertyMediaRepository = propertyMediaRepository;
+        this.propertyRepository = propertyRepository;
+        this.transactionTemplate = transactionTemplate;
+        // Bounded queue; when full the job is dropped and the original keeps being served.
+        this.executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueSize), r -> {
+                    Thread t = new Thread(r, "image-derivatives");
+                    t.setDaemon(true);
+                    return t;
+                }, (r, pool) -> log.warn("Image derivative queue full, skipping job"));
+    }
+
+    /**
+     * Queue derivative generation for a stored media row once the current transaction commits.
+     */
+    public void scheduleFor(PropertyMedia media) {
+        if (media == null || media.getId() == null) {
+            return;
+        }
+        Long mediaId = media.getId();
+        TransactionCallbacks.afterCommit(() -> executor.execute(() -> generate(mediaId)));
+    }
+
+    void generate(Long mediaId) {
+        PropertyMedia media = propertyMediaRepository.findById(mediaId).orElse(null);
+        if (media == null) {
+            return;
+        }
+        String fileName = media.getFilePath().substring(media.getFilePath().lastIndexOf('/') + 1);
+
+        BufferedImage original;
+        try {
+            Path path = fileStorageService.resolveStoredFile(fileName);
+            original = ImageIO.read(path.toFile());
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not read image {} for derivatives: {}", fileName, e.getMessage());
+            return;
+        }
+        if (original == null) {
+            // No ImageIO reader for this format (e.g. WebP); keep serving the original.
+            log.debug("No ImageIO reader for {}, skipping derivatives", fileName);
+            return;
+        }
+
+        String thumbnail;
+        String gallery;
+        String full;
+        try {
+            thumbnail = storeVariant(fileName, "thumb", original, THUMBNAIL_WIDTH);
+            gallery = storeVariant(fileName, "gallery", original, GALLERY_WIDTH);
+            full = storeVariant(fileName, "full", original, FULL_WIDTH);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to generate derivatives for {}: {}", fileName, e.getMessage());
+            return;
+        }
+
+        Boolean recorded = transactionTemplate.execute(status -> propertyMediaRepository.findById(mediaId)
+                .map(m -> {
+                    m.setThumbnailPath(thumbnail);
+                    m.setGalleryPath(gallery);
+                    m.setFullPath(full);
+                    propertyMediaRepository.save(m);
+                    // Targeted update: a full save would put back status/decision fields
+                    // changed by an admin while this job was running.
+                    propertyRepository.updateThumbnailIfCover(m.getProperty().getId(), m.getFilePath(), thumbnail);
+                    return true;
+                })
+                .orElse(false));
+        if (!Boolean.TRUE.equals(recorded)) {
+            // The listing was deleted while resizing; don't leave the variants behind.
+            for (String url : List.of(thumbnail, gallery, full)) {
+                fileStorageService.deleteFile(url.substring(url.lastIndexOf('/') + 1));
+            }
+            return;
+        }
+        log.info("Generated derivatives for {}", fileName);
+    }
+
+    private String storeVariant(String fileName, String variant, BufferedImage original, int maxWidth)
+            throws IOException {
+        BufferedImage scaled = scaleToWidth(original, maxWidth);
+        return fileStorageService.storeDerivative(fileName, variant, "jpg", encodeJpeg(scaled));
+    }
+
+    static BufferedImage scaleToWidth(BufferedImage source, int maxWidth) {
+        int width = source.getWidth();
+        int height = source.getHeight();
+        int targetWidth = Math.min(width, maxWidth);
+        int targetHeight = Math.max(1, (int) Math.round(height * (targetWidth / (double) width)));
+
+        // Step down by halves for large reductions; a single bilinear pass aliases badly.
+        BufferedImage current = toRgb(source);
+        while (current.getWidth() / 2 >= targetWidth) {
+            current = resize(current, current.getWidth() / 2, Math.max(1, current.getHeight() / 2));
+        }
+        if (current.getWidth() != targetWidth) {
+            current = resize(current, targetWidth, targetHeight);
+        }
+        return current;
+    }
+
+    private static BufferedImage toRgb(BufferedImage source) {
+        if (source.getType() == BufferedImage.TYPE_INT_RGB) {
+            return source;
+        }
+        return resize(source, source.getWidth(), source.getHeight());
+    }
+
+    private static BufferedImage resize(BufferedImage source, int width, int height) {
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = target.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            // JPEG has no alpha channel; flatten transparent PNGs onto white.
+            g.setColor(java.awt.Color.WHITE);
+            g.fillRect(0, 0, width, height);
+            g.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            g.dispose();
+        }
+        return target;
+    }
+
+    private static byte[] encodeJpeg(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(bytes)) {
+            writer.setOutput(out);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(JPEG_QUALITY);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return bytes.toByteArray();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
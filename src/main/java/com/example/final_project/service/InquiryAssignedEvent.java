@@ -0,0 +1,9 @@
+package com.example.final_project.service;
+
+import com.example.final_project.dto.InquiryDTO;
+
+/**
+ * An inquiry was (re)assigned to the agent with the given user id.
+ */
+public record InquiryAssignedEvent(InquiryDTO inquiry, Long agentUserId) {
+}
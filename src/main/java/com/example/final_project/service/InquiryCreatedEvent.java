@@ -0,0 +1,9 @@
+package com.example.final_project.service;
+
+import com.example.final_project.dto.InquiryDTO;
+
+/**
+ * A new inquiry was opened. agentUserId is the assigned agent's user id, or null.
+ */
+public record InquiryCreatedEvent(InquiryDTO inquiry, Long agentUserId) {
+}
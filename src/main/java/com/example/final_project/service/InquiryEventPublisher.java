@@ -0,0 +1,46 @@
+package com.example.final_project.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Sends inquiry updates to STOMP subscribers on this node and, through the
+ * configured ClusterEventRelay, to subscribers connected to the other nodes.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class InquiryEventPublisher {
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final ClusterEventRelay clusterEventRelay;
+
+    public void send(String destination, Object payload) {
+        messagingTemplate.convertAndSend(destination, payload);
+        if (!(clusterEventRelay instanceof LocalOnlyEventRelay)) {
+            byte[] body = serialize(payload);
+            if (body != null) {
+                clusterEventRelay.publish(destination, body);
+            }
+        }
+    }
+
+    // Use the broker's own converter so relayed frames match local ones byte for byte.
+    private byte[] serialize(Object payload) {
+        Message<?> message = messagingTemplate.getMessageConverter().toMessage(payload, null);
+        if (message == null) {
+            log.warn("Could not serialize {} for the cluster relay", payload.getClass().getSimpleName());
+            return null;
+        }
+        Object body = message.getPayload();
+        if (body instanceof byte[] bytes) {
+            return bytes;
+        }
+        return body.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.final_project.service;
+
+import com.example.final_project.dto.InquiryMessageDTO;
+
+/**
+ * A message was added to an inquiry thread. fromUser is true when the customer
+ * wrote it and false for an admin or agent reply.
+ */
+public record InquiryMessageEvent(Long inquiryId, Long userId, Long agentUserId,
+        InquiryMessageDTO message, boolean fromUser) {
+}
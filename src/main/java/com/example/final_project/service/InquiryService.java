@@ -5,14 +5,23 @@ import com.example.final_project.model.*;
 import com.example.final_project.repository.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -20,12 +29,19 @@ import java.util.stream.Collectors;
 @Slf4j
 public class InquiryService {
 
+    private static final int PREVIEW_LENGTH = 100;
+    static final int DEFAULT_HISTORY_LIMIT = 50;
+    static final int MAX_HISTORY_LIMIT = 200;
+
     private final InquiryRepository inquiryRepository;
     private final InquiryMessageRepository messageRepository;
-    private final UserRepository userRepository;
     private final PropertyRepository propertyRepository;
     private final AgentRepository agentRepository;
-    private final SimpMessagingTemplate messagingTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final UserDisplayNameCache displayNameCache;
+    private final ReadReceiptBuffer readReceipts;
+    private final UnreadCounters unreadCounters;
+    private final ReferenceDataCache referenceData;
 
     /**
      * Create a new inquiry with the first message.
@@ -37,14 +53,18 @@ public class InquiryService {
         Property property = propertyRepository.findById(request.getPropertyId())
                 .orElseThrow(() -> new RuntimeException("Property not found"));
 
-        // Create the inquiry
+        // Create the inquiry; a new row cannot race, so its summary is written with the insert
+        LocalDateTime now = LocalDateTime.now();
         Inquiry inquiry = Inquiry.builder()
                 .user(user)
                 .property(property)
                 .assignedAgent(property.getAssignedAgent()) // Auto-assign from property
                 .status(InquiryStatus.PENDING)
-                .createdAt(LocalDateTime.now())
-                .lastMessageAt(LocalDateTime.now())
+                .createdAt(now)
+                .lastMessageAt(now)
+                .lastMessagePreview(preview(request.getMessage()))
+                .messageCount(1)
+                .lastReadAtUser(now) // the customer wrote the first message
                 .build();
 
         inquiry = inquiryRepository.save(inquiry);
@@ -55,7 +75,7 @@ public class InquiryService {
                 .senderId(user.getId())
                 .senderRole(user.getRole())
                 .text(request.getMessage())
-                .createdAt(LocalDateTime.now())
+                .createdAt(now)
                 .build();
 
         messageRepository.save(message);
@@ -64,7 +84,7 @@ public class InquiryService {
         sendNewInquiryNotifications(inquiry);
 
         log.info("User {} created inquiry {} for property {}", user.getEmail(), inquiry.getId(), property.getId());
-        return toDTO(inquiry, message.getText().substring(0, Math.min(100, message.getText().length())));
+        return toDTO(inquiry);
     }
 
     /**
@@ -72,9 +92,9 @@ public class InquiryService {
      */
     public List<InquiryDTO> getMyInquiries() {
         User user = getCurrentUser();
-        return inquiryRepository.findByUserIdOrderByLastMessageAtDesc(user.getId())
+        return inquiryRepository.findSummariesForUser(user.getId())
                 .stream()
-                .map(this::toDTOWithLastMessage)
+                .map(this::toDTO)
                 .collect(Collectors.toList());
     }
 
@@ -91,29 +111,31 @@ public class InquiryService {
             throw new RuntimeException("Access denied");
         }
 
-        // Mark as read by user
-        inquiry.setLastReadAtUser(LocalDateTime.now());
-        inquiryRepository.save(inquiry);
+        // Mark as read by user (buffered, flushed in batches)
+        markReadByUser(inquiry);
 
-        return toDTOWithLastMessage(inquiry);
+        return toDTO(inquiry);
     }
 
     /**
      * Get messages for a specific inquiry (user access).
      */
     public List<InquiryMessageDTO> getInquiryMessages(Long inquiryId) {
+        return getInquiryMessages(inquiryId, new MessageHistoryQuery());
+    }
+
+    /**
+     * Get all or part of an inquiry thread (user access).
+     */
+    public List<InquiryMessageDTO> getInquiryMessages(Long inquiryId, MessageHistoryQuery query) {
         User user = getCurrentUser();
         Inquiry inquiry = inquiryRepository.findByIdAndUserId(inquiryId, user.getId())
                 .orElseThrow(() -> new RuntimeException("Inquiry not found or access denied"));
 
-        // Update last read timestamp for user
-        inquiry.setLastReadAtUser(LocalDateTime.now());
-        inquiryRepository.save(inquiry);
+        // Update last read timestamp for user (buffered, flushed in batches)
+        markReadByUser(inquiry);
 
-        return messageRepository.findByInquiryIdOrderByCreatedAtAsc(inquiryId)
-                .stream()
-                .map(this::toMessageDTO)
-                .collect(Collectors.toList());
+        return toMessageDTOs(loadMessages(inquiryId, query));
     }
 
     /**
@@ -140,8 +162,8 @@ public class InquiryService {
 
         message = messageRepository.save(message);
 
-        // Update inquiry timestamp and status back to PENDING
-        inquiry.setLastMessageAt(LocalDateTime.now());
+        // Update inquiry summary and status back to PENDING
+        recordMessage(inquiry, message);
         if (inquiry.getStatus() == InquiryStatus.REPLIED) {
             inquiry.setStatus(InquiryStatus.PENDING);
         }
@@ -161,14 +183,9 @@ public class InquiryService {
      * Get all inquiries (admin access).
      */
     public List<InquiryDTO> getAllInquiries(InquiryStatus status) {
-        List<Inquiry> inquiries;
-        if (status != null) {
-            inquiries = inquiryRepository.findByStatusOrderByLastMessageAtDesc(status);
-        } else {
-            inquiries = inquiryRepository.findAllByOrderByLastMessageAtDesc();
-        }
-        return inquiries.stream()
-                .map(this::toDTOWithLastMessage)
+        return inquiryRepository.findSummaries(status)
+                .stream()
+                .map(this::toDTO)
                 .collect(Collectors.toList());
     }
 
@@ -176,17 +193,20 @@ public class InquiryService {
      * Get messages for a specific inquiry (admin access).
      */
     public List<InquiryMessageDTO> getInquiryMessagesAdmin(Long inquiryId) {
+        return getInquiryMessagesAdmin(inquiryId, new MessageHistoryQuery());
+    }
+
+    /**
+     * Get all or part of an inquiry thread (admin access).
+     */
+    public List<InquiryMessageDTO> getInquiryMessagesAdmin(Long inquiryId, MessageHistoryQuery query) {
         Inquiry inquiry = inquiryRepository.findById(inquiryId)
                 .orElseThrow(() -> new RuntimeException("Inquiry not found"));
 
-        // Update last read timestamp for admin
-        inquiry.setLastReadAtAdmin(LocalDateTime.now());
-        inquiryRepository.save(inquiry);
+        // Update last read timestamp for admin (buffered, flushed in batches)
+        markReadByAdmin(inquiry);
 
-        return messageRepository.findByInquiryIdOrderByCreatedAtAsc(inquiryId)
-                .stream()
-                .map(this::toMessageDTO)
-                .collect(Collectors.toList());
+        return toMessageDTOs(loadMessages(inquiryId, query));
     }
 
     /**
@@ -196,11 +216,10 @@ public class InquiryService {
         Inquiry inquiry = inquiryRepository.findById(inquiryId)
                 .orElseThrow(() -> new RuntimeException("Inquiry not found"));
 
-        // Mark as read by admin
-        inquiry.setLastReadAtAdmin(LocalDateTime.now());
-        inquiryRepository.save(inquiry);
+        // Mark as read by admin (buffered, flushed in batches)
+        markReadByAdmin(inquiry);
 
-        return toDTOWithLastMessage(inquiry);
+        return toDTO(inquiry);
     }
 
     /**
@@ -208,15 +227,14 @@ public class InquiryService {
      */
     @Transactional
     public InquiryMessageDTO replyToInquiry(Long inquiryId, SendMessageRequest request, boolean isAdmin) {
-        User responder = getCurrentUser();
+        User responder = currentPrincipal();
         Inquiry inquiry = inquiryRepository.findById(inquiryId)
                 .orElseThrow(() -> new RuntimeException("Inquiry not found"));
 
         // If not admin, check if this agent is assigned
         if (!isAdmin) {
-            Agent agent = agentRepository.findByLinkedUserId(responder.getId())
-                    .orElseThrow(() -> new RuntimeException("Agent profile not found"));
-            if (inquiry.getAssignedAgent() == null || !inquiry.getAssignedAgent().getId().equals(agent.getId())) {
+            Long agentId = agentIdOf(responder);
+            if (inquiry.getAssignedAgent() == null || !inquiry.getAssignedAgent().getId().equals(agentId)) {
                 throw new RuntimeException("You are not assigned to this inquiry");
             }
         }
@@ -232,7 +250,7 @@ public class InquiryService {
         message = messageRepository.save(message);
 
         // Update inquiry
-        inquiry.setLastMessageAt(LocalDateTime.now());
+        recordMessage(inquiry, message);
         inquiry.setStatus(InquiryStatus.REPLIED);
         inquiry.setLastReadAtAdmin(LocalDateTime.now());
         inquiryRepository.save(inquiry);
@@ -249,15 +267,14 @@ public class InquiryService {
      */
     @Transactional
     public void closeInquiry(Long inquiryId, boolean isAdmin) {
-        User user = getCurrentUser();
+        User user = currentPrincipal();
         Inquiry inquiry = inquiryRepository.findById(inquiryId)
                 .orElseThrow(() -> new RuntimeException("Inquiry not found"));
 
         // If not admin, check if this agent is assigned
         if (!isAdmin) {
-            Agent agent = agentRepository.findByLinkedUserId(user.getId())
-                    .orElseThrow(() -> new RuntimeException("Agent profile not found"));
-            if (inquiry.getAssignedAgent() == null || !inquiry.getAssignedAgent().getId().equals(agent.getId())) {
+            Long agentId = agentIdOf(user);
+            if (inquiry.getAssignedAgent() == null || !inquiry.getAssignedAgent().getId().equals(agentId)) {
                 throw new RuntimeException("You are not assigned to this inquiry");
             }
         }
@@ -281,12 +298,11 @@ public class InquiryService {
 
         inquiry.setAssignedAgent(agent);
         inquiryRepository.save(inquiry);
+        unreadCounters.reassigned(inquiry.getId(), agent.getLinkedUser() != null ? agent.getLinkedUser().getId() : null);
 
         // Notify the new agent
         if (agent.getLinkedUser() != null) {
-            messagingTemplate.convertAndSend(
-                    "/topic/agents/" + agent.getLinkedUser().getId() + "/inquiries",
-                    toDTOWithLastMessage(inquiry));
+            eventPublisher.publishEvent(new InquiryAssignedEvent(toDTO(inquiry), agent.getLinkedUser().getId()));
         }
 
         log.info("Inquiry {} reassigned to agent {}", inquiryId, agentId);
@@ -298,19 +314,11 @@ public class InquiryService {
      * Get inquiries assigned to the current agent.
      */
     public List<InquiryDTO> getAgentInquiries(InquiryStatus status) {
-        User user = getCurrentUser();
-        Agent agent = agentRepository.findByLinkedUserId(user.getId())
-                .orElseThrow(() -> new RuntimeException("Agent profile not found"));
+        Long agentId = agentIdOf(currentPrincipal());
 
-        List<Inquiry> inquiries;
-        if (status != null) {
-            inquiries = inquiryRepository.findByAssignedAgentIdAndStatusOrderByLastMessageAtDesc(agent.getId(), status);
-        } else {
-            inquiries = inquiryRepository.findByAssignedAgentIdOrderByLastMessageAtDesc(agent.getId());
-        }
-
-        return inquiries.stream()
-                .map(this::toDTOWithLastMessage)
+        return inquiryRepository.findSummariesForAgent(agentId, status)
+                .stream()
+                .map(this::toDTO)
                 .collect(Collectors.toList());
     }
 
@@ -318,43 +326,66 @@ public class InquiryService {
      * Get messages for a specific inquiry (agent access).
      */
     public List<InquiryMessageDTO> getInquiryMessagesAgent(Long inquiryId) {
-        User user = getCurrentUser();
-        Agent agent = agentRepository.findByLinkedUserId(user.getId())
-                .orElseThrow(() -> new RuntimeException("Agent profile not found"));
+        return getInquiryMessagesAgent(inquiryId, new MessageHistoryQuery());
+    }
+
+    /**
+     * Get all or part of an inquiry thread (agent access).
+     */
+    public List<InquiryMessageDTO> getInquiryMessagesAgent(Long inquiryId, MessageHistoryQuery query) {
+        Long agentId = agentIdOf(currentPrincipal());
 
-        Inquiry inquiry = inquiryRepository.findByIdAndAssignedAgentId(inquiryId, agent.getId())
+        Inquiry inquiry = inquiryRepository.findByIdAndAssignedAgentId(inquiryId, agentId)
                 .orElseThrow(() -> new RuntimeException("Inquiry not found or not assigned to you"));
 
-        // Update last read timestamp
-        inquiry.setLastReadAtAdmin(LocalDateTime.now());
-        inquiryRepository.save(inquiry);
+        // Update last read timestamp (buffered, flushed in batches)
+        markReadByAdmin(inquiry);
 
-        return messageRepository.findByInquiryIdOrderByCreatedAtAsc(inquiryId)
-                .stream()
-                .map(this::toMessageDTO)
-                .collect(Collectors.toList());
+        return toMessageDTOs(loadMessages(inquiryId, query));
     }
 
     /**
      * Get a single inquiry by ID (agent access).
      */
     public InquiryDTO getInquiryByIdAgent(Long inquiryId) {
-        User user = getCurrentUser();
-        Agent agent = agentRepository.findByLinkedUserId(user.getId())
-                .orElseThrow(() -> new RuntimeException("Agent profile not found"));
+        Long agentId = agentIdOf(currentPrincipal());
 
-        Inquiry inquiry = inquiryRepository.findByIdAndAssignedAgentId(inquiryId, agent.getId())
+        Inquiry inquiry = inquiryRepository.findByIdAndAssignedAgentId(inquiryId, agentId)
                 .orElseThrow(() -> new RuntimeException("Inquiry not found or not assigned to you"));
 
-        // Mark as read by agent
-        inquiry.setLastReadAtAdmin(LocalDateTime.now());
-        inquiryRepository.save(inquiry);
+        // Mark as read by agent (buffered, flushed in batches)
+        markReadByAdmin(inquiry);
 
-        return toDTOWithLastMessage(inquiry);
+        return toDTO(inquiry);
     }
 
     // ==================== HELPER METHODS ====================
 
+    /**
+     * The signed-in account. JWT requests already carry the User row as principal,
+     * so only other authentication types fall back to a lookup by email.
+     */
+    private User currentPrincipal() {
+        Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        if (principal instanceof User user) {
+            return user;
+        }
+        return getCurrentUser();
+    }
+
+    /**
+     * Agent profile id for an agent account, as resolved by the JWT filter at
+     * authentication time, falling back to the linked-user lookup.
+     */
+    private Long agentIdOf(User user) {
+        if (user.getAgentId() != null) {
+            return user.getAgentId();
+        }
+        return referenceData.findAgentByLinkedUserId(user.getId())
+                .map(Agent::getId)
+                .orElseThrow(() -> new RuntimeException("Agent profile not found"));
+    }
+
     private User getCurrentUser() {
         Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
         String email;
@@ -363,45 +394,160 @@ public class InquiryService {
         } else {
             email = principal.toString();
         }
-        return userRepository.findByEmail(email)
+        return referenceData.findUserByEmail(email)
                 .orElseThrow(() -> new RuntimeException("User not found"));
     }
 
-    private void sendNewInquiryNotifications(Inquiry inquiry) {
-        InquiryDTO dto = toDTOWithLastMessage(inquiry);
+    /**
+     * Load the requested window of a thread, always returned oldest first.
+     */
+    private List<InquiryMessage> loadMessages(Long inquiryId, MessageHistoryQuery query) {
+        if (query == null || query.isEmpty()) {
+            return messageRepository.findByInquiryIdOrderByCreatedAtAsc(inquiryId);
+        }
 
-        // Notify admin
-        messagingTemplate.convertAndSend("/topic/admin/inquiries", dto);
+        int limit = query.getLimit() == null || query.getLimit() <= 0
+                ? DEFAULT_HISTORY_LIMIT
+                : Math.min(query.getLimit(), MAX_HISTORY_LIMIT);
+        PageRequest page = PageRequest.of(0, limit);
 
-        // Notify assigned agent if exists
-        if (inquiry.getAssignedAgent() != null && inquiry.getAssignedAgent().getLinkedUser() != null) {
-            messagingTemplate.convertAndSend(
-                    "/topic/agents/" + inquiry.getAssignedAgent().getLinkedUser().getId() + "/inquiries",
-                    dto);
+        if (query.getAfterId() != null) {
+            return messageRepository.findByInquiryIdAndIdGreaterThanOrderByIdAsc(inquiryId, query.getAfterId(), page);
+        }
+        if (query.getSince() != null) {
+            return messageRepository.findByInquiryIdAndCreatedAtAfterOrderByCreatedAtAscIdAsc(
+                    inquiryId, query.getSince(), page);
         }
+
+        List<InquiryMessage> newestFirst = query.getBeforeId() != null
+                ? messageRepository.findByInquiryIdAndIdLessThanOrderByIdDesc(inquiryId, query.getBeforeId(), page)
+                : messageRepository.findByInquiryIdOrderByIdDesc(inquiryId, page);
+        List<InquiryMessage> oldestFirst = new ArrayList<>(newestFirst);
+        Collections.reverse(oldestFirst);
+        return oldestFirst;
     }
 
-    private void sendMessageNotification(Inquiry inquiry, InquiryMessage message, String eventType) {
-        InquiryMessageDTO messageDTO = toMessageDTO(message);
+    // Payloads are built here, inside the transaction; delivery happens after commit.
+    private void sendNewInquiryNotifications(Inquiry inquiry) {
+        unreadCounters.customerMessage(inquiry.getId(), inquiry.getUser().getId(), agentUserId(inquiry));
+        eventPublisher.publishEvent(new InquiryCreatedEvent(toDTO(inquiry), agentUserId(inquiry)));
+    }
 
+    private void sendMessageNotification(Inquiry inquiry, InquiryMessage message, String eventType) {
         if ("user_reply".equals(eventType)) {
-            // Notify admin and agent
-            messagingTemplate.convertAndSend("/topic/admin/inquiries/" + inquiry.getId(), messageDTO);
-            if (inquiry.getAssignedAgent() != null && inquiry.getAssignedAgent().getLinkedUser() != null) {
-                messagingTemplate.convertAndSend(
-                        "/topic/agents/" + inquiry.getAssignedAgent().getLinkedUser().getId() + "/inquiries/"
-                                + inquiry.getId(),
-                        messageDTO);
-            }
+            unreadCounters.customerMessage(inquiry.getId(), inquiry.getUser().getId(), agentUserId(inquiry));
         } else {
-            // Notify user about agent/admin reply
-            messagingTemplate.convertAndSend(
-                    "/topic/users/" + inquiry.getUser().getId() + "/inquiries/" + inquiry.getId(),
-                    messageDTO);
+            unreadCounters.staffMessage(inquiry.getId(), inquiry.getUser().getId());
+        }
+        eventPublisher.publishEvent(new InquiryMessageEvent(
+                inquiry.getId(),
+                inquiry.getUser().getId(),
+                agentUserId(inquiry),
+                toMessageDTO(message),
+                "user_reply".equals(eventType)));
+    }
+
+    private void markReadByUser(Inquiry inquiry) {
+        readReceipts.markReadByUser(inquiry.getId());
+        unreadCounters.readByUser(inquiry.getId());
+    }
+
+    private void markReadByAdmin(Inquiry inquiry) {
+        readReceipts.markReadByAdmin(inquiry.getId());
+        unreadCounters.readByStaff(inquiry.getId());
+    }
+
+    private Long agentUserId(Inquiry inquiry) {
+        if (inquiry.getAssignedAgent() == null || inquiry.getAssignedAgent().getLinkedUser() == null) {
+            return null;
         }
+        return inquiry.getAssignedAgent().getLinkedUser().getId();
     }
 
-    private InquiryDTO toDTO(Inquiry inquiry, String lastMessagePreview) {
+    /**
+     * Backfill the denormalized summary columns for inquiries created before they existed.
+     * Runs before UnreadCounters is seeded from these columns.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @Transactional
+    public void backfillMessageSummaries() {
+        int readMarks = inquiryRepository.markCustomerOnlyInquiriesReadByUser();
+        if (readMarks > 0) {
+            log.info("Set user read marks on {} inquiries without staff replies", readMarks);
+        }
+
+        List<Inquiry> legacy = inquiryRepository.findByLastMessagePreviewIsNull();
+        if (!legacy.isEmpty()) {
+            // One grouped query for counts and newest ids (ids follow message order, as in
+            // history paging), one batched load for the newest texts.
+            Map<Long, InquiryMessageRepository.MessageStats> stats = messageRepository
+                    .findStatsForInquiriesWithoutPreview().stream()
+                    .collect(Collectors.toMap(InquiryMessageRepository.MessageStats::getInquiryId, st -> st));
+            Map<Long, String> lastTexts = messageRepository
+                    .findAllById(stats.values().stream()
+                            .map(InquiryMessageRepository.MessageStats::getLastMessageId)
+                            .toList())
+                    .stream()
+                    .collect(Collectors.toMap(InquiryMessage::getId, m -> preview(m.getText())));
+            for (Inquiry inquiry : legacy) {
+                InquiryMessageRepository.MessageStats st = stats.get(inquiry.getId());
+                inquiry.setMessageCount(st != null ? st.getMessageCount().intValue() : 0);
+                inquiry.setLastMessagePreview(st != null ? lastTexts.getOrDefault(st.getLastMessageId(), "") : "");
+            }
+            inquiryRepository.saveAll(legacy);
+            log.info("Backfilled message summaries for {} inquiries", legacy.size());
+        }
+    }
+
+    // Atomic in SQL: the loaded entity's summary fields are left untouched so @DynamicUpdate never writes them back.
+    private void recordMessage(Inquiry inquiry, InquiryMessage message) {
+        inquiryRepository.recordMessage(inquiry.getId(),
+                message.getCreatedAt() != null ? message.getCreatedAt() : LocalDateTime.now(),
+                preview(message.getText()));
+    }
+
+    private static String preview(String text) {
+        if (text == null) {
+            return "";
+        }
+        return text.length() > PREVIEW_LENGTH ? text.substring(0, PREVIEW_LENGTH) + "..." : text;
+    }
+
+    InquiryDTO toDTO(InquirySummaryView view) {
+        return InquiryDTO.builder()
+                .id(view.getId())
+                .userId(view.getUserId())
+                .userName(view.getUserName())
+                .userEmail(view.getUserEmail())
+                // Property details
+                .propertyId(view.getPropertyId())
+                .propertyTitle(view.getPropertyTitle())
+                .propertyAddress(view.getPropertyAddress())
+                .propertyImage(view.getPropertyImage())
+                .propertyPrice(view.getPropertyPrice() != null ? view.getPropertyPrice().doubleValue() : null)
+                .propertyBedrooms(view.getPropertyBedrooms())
+                .propertyBathrooms(view.getPropertyBathrooms())
+                .propertyAreaSqFt(view.getPropertyAreaSqFt())
+                .propertyType(view.getPropertyType() != null ? view.getPropertyType().name() : null)
+                // Agent details
+                .assignedAgentId(view.getAssignedAgentId())
+                .assignedAgentName(view.getAssignedAgentName())
+                .assignedAgentProfileImage(view.getAssignedAgentProfileImage())
+                .assignedAgentPhone(view.getAssignedAgentPhone())
+                .assignedAgentTitle(view.getAssignedAgentTitle())
+                // Inquiry metadata
+                .status(view.getStatus())
+                .lastMessagePreview(view.getLastMessagePreview() != null ? view.getLastMessagePreview() : "")
+                .messageCount(view.getMessageCount() != null ? view.getMessageCount() : 0)
+                .lastMessageAt(view.getLastMessageAt())
+                .createdAt(view.getCreatedAt())
+                .hasUnread(hasUnread(view.getLastMessageAt(),
+                        readReceipts.effectiveAdminRead(view.getId(), view.getLastReadAtAdmin())))
+                .build();
+    }
+
+    private InquiryDTO toDTO(Inquiry inquiry) {
         Property property = inquiry.getProperty();
         Agent agent = inquiry.getAssignedAgent();
         User user = inquiry.getUser();
@@ -429,22 +575,34 @@ public class InquiryService {
                 .assignedAgentTitle(agent != null ? agent.getTitle() : null)
                 // Inquiry metadata
                 .status(inquiry.getStatus())
-                .lastMessagePreview(lastMessagePreview)
+                .lastMessagePreview(inquiry.getLastMessagePreview() != null ? inquiry.getLastMessagePreview() : "")
+                .messageCount(inquiry.getMessageCount() != null ? inquiry.getMessageCount() : 0)
                 .lastMessageAt(inquiry.getLastMessageAt())
                 .createdAt(inquiry.getCreatedAt())
-                .hasUnread(hasUnread(inquiry))
+                .hasUnread(hasUnread(inquiry.getLastMessageAt(),
+                        readReceipts.effectiveAdminRead(inquiry.getId(), inquiry.getLastReadAtAdmin())))
                 .build();
     }
 
-    private InquiryDTO toDTOWithLastMessage(Inquiry inquiry) {
-        List<InquiryMessage> messages = messageRepository.findByInquiryIdOrderByCreatedAtAsc(inquiry.getId());
-        String lastMessage = messages.isEmpty() ? "" : messages.get(messages.size() - 1).getText();
-        String preview = lastMessage.length() > 100 ? lastMessage.substring(0, 100) + "..." : lastMessage;
-        return toDTO(inquiry, preview);
+    List<InquiryMessageDTO> toMessageDTOs(List<InquiryMessage> messages) {
+        // Resolve every distinct sender once instead of one lookup per message.
+        Set<Long> senderIds = messages.stream()
+                .filter(m -> m.getSenderRole() != Role.ADMIN)
+                .map(InquiryMessage::getSenderId)
+                .collect(Collectors.toSet());
+        Map<Long, String> names = senderIds.isEmpty() ? Map.of() : displayNameCache.resolveAll(senderIds);
+        return messages.stream()
+                .map(m -> toMessageDTO(m, m.getSenderRole() == Role.ADMIN
+                        ? "Admin"
+                        : names.getOrDefault(m.getSenderId(), UserDisplayNameCache.UNKNOWN_NAME)))
+                .collect(Collectors.toList());
     }
 
     private InquiryMessageDTO toMessageDTO(InquiryMessage message) {
-        String senderName = getSenderName(message);
+        return toMessageDTO(message, getSenderName(message));
+    }
+
+    private InquiryMessageDTO toMessageDTO(InquiryMessage message, String senderName) {
         return InquiryMessageDTO.builder()
                 .id(message.getId())
                 .senderId(message.getSenderId())
@@ -459,14 +617,11 @@ public class InquiryService {
         if (message.getSenderRole() == Role.ADMIN) {
             return "Admin";
         }
-        return userRepository.findById(message.getSenderId())
-                .map(User::getName)
-                .orElse("Unknown");
+        return displayNameCache.resolve(message.getSenderId());
     }
 
-    private boolean hasUnread(Inquiry inquiry) {
+    private boolean hasUnread(LocalDateTime lastMessageAt, LocalDateTime lastReadAtAdmin) {
         // For admin view: check if there are messages after lastReadAtAdmin
-        LocalDateTime lastRead = inquiry.getLastReadAtAdmin();
-        return lastRead == null || inquiry.getLastMessageAt().isAfter(lastRead);
+        return lastReadAtAdmin == null || (lastMessageAt != null && lastMessageAt.isAfter(lastReadAtAdmin));
     }
 }
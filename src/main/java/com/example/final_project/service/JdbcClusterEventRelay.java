@@ -0,0 +1,150 @@
+package com.example.final_project.service;
+
+import com.example.final_project.model.ClusterEvent;
+import com.example.final_project.repository.ClusterEventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.MimeTypeUtils;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Relays real-time messages between nodes through the shared cluster_events table.
+ * Each node appends the messages it publishes and polls for rows written by the
+ * others. Works with any number of nodes on the same database and needs no extra
+ * infrastructure; latency is bounded by the poll interval.
+ */
+@Component
+@ConditionalOnProperty(name = "app.cluster.relay", havingValue = "jdbc")
+@Slf4j
+public class JdbcClusterEventRelay implements ClusterEventRelay {
+
+    private static final int POLL_BATCH_SIZE = 500;
+
+    private final ClusterEventRepository clusterEventRepository;
+    private final TransactionTemplate insertTransaction;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final String nodeId;
+    private final long settleMillis;
+    private final long retentionSeconds;
+
+    // Rows at or below the watermark have all been seen. Rows above it are
+    // re-read until they are older than settleMillis, because IDENTITY values
+    // from concurrent transactions can become visible out of order. Ages are
+    // measured on the database clock, which stamps every row, so node clock skew
+    // cannot make a row look settled early.
+    private long watermark;
+    // Delivered ids above the watermark; never more than one poll batch.
+    private final LinkedHashSet<Long> deliveredIds = new LinkedHashSet<>();
+
+    public JdbcClusterEventRelay(ClusterEventRepository clusterEventRepository,
+            PlatformTransactionManager transactionManager,
+            SimpMessagingTemplate messagingTemplate,
+            @Value("${app.cluster.node-id:}") String nodeId,
+            @Value("${app.cluster.settle-ms:2000}") long settleMillis,
+            @Value("${app.cluster.retention-seconds:300}") long retentionSeconds) {
+        this.clusterEventRepository = clusterEventRepository;
+        this.insertTransaction = new TransactionTemplate(transactionManager);
+        this.insertTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.messagingTemplate = messagingTemplate;
+        this.nodeId = nodeId == null || nodeId.isBlank() ? UUID.randomUUID().toString() : nodeId;
+        this.settleMillis = settleMillis;
+        this.retentionSeconds = retentionSeconds;
+    }
+
+    @Override
+    public void publish(String destination, byte[] payload) {
+        // Only announce changes that actually committed. The caller's transaction is
+        // finished by then, so the insert needs a transaction of its own.
+        TransactionCallbacks.afterCommit(() -> {
+            try {
+                insertTransaction.executeWithoutResult(status -> clusterEventRepository.save(ClusterEvent.builder()
+                        .originNode(nodeId)
+                        .destination(destination)
+                        .payload(payload)
+                        .build()));
+            } catch (RuntimeException e) {
+                log.warn("Failed to relay message for {}: {}", destination, e.getMessage());
+            }
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        // Start from the current tail; history is served by the REST endpoints.
+        Long maxId = clusterEventRepository.findMaxId();
+        watermark = maxId != null ? maxId : 0L;
+        log.info("Cluster relay started as node {} at event {}", nodeId, watermark);
+    }
+
+    @Scheduled(fixedDelayString = "${app.cluster.poll-interval-ms:250}")
+    public synchronized void poll() {
+        List<ClusterEvent> events;
+        LocalDateTime settledBefore;
+        try {
+            events = clusterEventRepository.findByIdGreaterThanOrderByIdAsc(watermark,
+                    PageRequest.of(0, POLL_BATCH_SIZE));
+            if (events.isEmpty()) {
+                return;
+            }
+            settledBefore = clusterEventRepository.findDatabaseTime().minusNanos(settleMillis * 1_000_000L);
+        } catch (RuntimeException e) {
+            log.warn("Cluster relay poll failed: {}", e.getMessage());
+            return;
+        }
+
+        boolean contiguous = true;
+        for (ClusterEvent event : events) {
+            if (deliveredIds.add(event.getId()) && !nodeId.equals(event.getOriginNode())) {
+                deliverLocally(event.getDestination(), event.getPayload());
+            }
+            // Advance only over a settled prefix so late-committing rows are not skipped.
+            if (contiguous && event.getCreatedAt() != null && event.getCreatedAt().isBefore(settledBefore)) {
+                watermark = event.getId();
+            } else {
+                contiguous = false;
+            }
+        }
+
+        deliveredIds.removeIf(id -> id <= watermark);
+    }
+
+    private void deliverLocally(String destination, byte[] payload) {
+        // Already JSON; send the bytes as-is instead of converting again.
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        accessor.setLeaveMutable(true);
+        try {
+            messagingTemplate.send(destination, MessageBuilder.createMessage(payload, accessor.getMessageHeaders()));
+        } catch (RuntimeException e) {
+            log.warn("Failed to deliver relayed message to {}: {}", destination, e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.cluster.prune-interval-ms:60000}")
+    @Transactional
+    public void prune() {
+        int deleted = clusterEventRepository.deleteOlderThan(
+                clusterEventRepository.findDatabaseTime().minusSeconds(retentionSeconds));
+        if (deleted > 0) {
+            log.debug("Pruned {} relayed cluster events", deleted);
+        }
+    }
+}
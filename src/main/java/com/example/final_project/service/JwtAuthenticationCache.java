@@ -0,0 +1,79 @@
+package com.example.final_project.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Bounded cache of verified JWT to the authenticated user, so the auth filter can
+ * skip parsing the token and loading the user on repeat requests. An entry lives
+ * until the token expires and is dropped as soon as the user row changes
+ * (disabled, role changed, deleted).
+ */
+@Component
+public class JwtAuthenticationCache {
+
+    @Value("${app.cache.jwt.max-size:10000}")
+    private int maxSize;
+
+    // Access-ordered so the least recently used token is evicted first.
+    private final LinkedHashMap<String, CachedAuthentication> entries = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedAuthentication> eldest) {
+            return size() > maxSize;
+        }
+    };
+
+    /**
+     * Cached user for a token, or null if unknown or expired.
+     */
+    public UserDetails get(String token) {
+        long now = System.currentTimeMillis();
+        synchronized (entries) {
+            CachedAuthentication cached = entries.get(token);
+            if (cached == null) {
+                return null;
+            }
+            if (cached.expiresAt() <= now) {
+                entries.remove(token);
+                return null;
+            }
+            return cached.userDetails();
+        }
+    }
+
+    public void put(String token, UserDetails userDetails, long expiresAt) {
+        synchronized (entries) {
+            entries.put(token, new CachedAuthentication(userDetails, expiresAt));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        // Delivered after commit, so no request can re-cache the old row behind this eviction.
+        evictUser(event.email());
+    }
+
+    public void evictUser(String email) {
+        if (email == null) {
+            return;
+        }
+        synchronized (entries) {
+            entries.values().removeIf(cached -> Objects.equals(cached.userDetails().getUsername(), email));
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    private record CachedAuthentication(UserDetails userDetails, long expiresAt) {
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.final_project.service;
+
+import com.example.final_project.model.UserNotification;
+
+/**
+ * An admin approved or rejected a listing; the stored notification goes to its owner.
+ */
+public record ListingDecisionEvent(String recipientEmail, UserNotification notification) {
+}
@@ -0,0 +1,18 @@
+package com.example.final_project.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Single-node mode (the default): there are no other nodes to relay to. Also used
+ * when an external STOMP broker is configured, since the broker does the fan-out.
+ */
+@Component
+@ConditionalOnProperty(name = "app.cluster.relay", havingValue = "none", matchIfMissing = true)
+public class LocalOnlyEventRelay implements ClusterEventRelay {
+
+    @Override
+    public void publish(String destination, byte[] payload) {
+        // Nothing to do.
+    }
+}
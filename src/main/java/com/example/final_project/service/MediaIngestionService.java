@@ -0,0 +1,128 @@
+package com.example.final_project.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stores listing uploads concurrently on a bounded pool and records them with a
+ * single batched insert. Files are written before any DB transaction starts so a
+ * connection is never held while megabytes of images are copied to disk.
+ */
+@Service
+@Slf4j
+public class MediaIngestionService {
+
+    private static final String INSERT_MEDIA = "INSERT INTO property_media"
+            + " (property_id, file_path, content_hash, uploaded_at) VALUES (?, ?, ?, ?)";
+
+    private final FileStorageService fileStorageService;
+    private final JdbcTemplate jdbcTemplate;
+    private final ThreadPoolExecutor executor;
+
+    public MediaIngestionService(FileStorageService fileStorageService,
+            JdbcTemplate jdbcTemplate,
+            @Value("${app.uploads.ingest-threads:4}") int threads,
+            @Value("${app.uploads.ingest-queue:64}") int queueSize) {
+        this.fileStorageService = fileStorageService;
+        this.jdbcTemplate = jdbcTemplate;
+        // When the queue is full the request thread stores the file itself, which
+        // slows that submission down instead of failing it.
+        this.executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueSize), r -> {
+                    Thread t = new Thread(r, "media-ingest");
+                    t.setDaemon(true);
+                    return t;
+                }, new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * Store all non-empty files concurrently, preserving their order.
+     * If any file fails, the ones already written are deleted and the error is rethrown.
+     */
+    public List<FileStorageService.StoredFile> storeAll(MultipartFile[] files) {
+        List<FileStorageService.StoredFile> stored = new ArrayList<>();
+        if (files == null || files.length == 0) {
+            return stored;
+        }
+
+        List<Future<FileStorageService.StoredFile>> pending = new ArrayList<>();
+        for (MultipartFile file : files) {
+            if (file != null && !file.isEmpty()) {
+                pending.add(executor.submit(() -> fileStorageService.storeFileVerified(file)));
+            }
+        }
+
+        RuntimeException failure = null;
+        for (Future<FileStorageService.StoredFile> future : pending) {
+            try {
+                stored.add(future.get());
+            } catch (ExecutionException e) {
+                if (failure == null) {
+                    failure = e.getCause() instanceof RuntimeException re
+                            ? re
+                            : new RuntimeException("Could not store file", e.getCause());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                if (failure == null) {
+                    failure = new RuntimeException("Interrupted while storing files", e);
+                }
+            }
+        }
+
+        if (failure != null) {
+            deleteAll(stored.stream().map(FileStorageService.StoredFile::url).toList());
+            throw failure;
+        }
+        return stored;
+    }
+
+    /**
+     * Insert one property_media row per stored file in a single JDBC batch.
+     * Runs on the caller's transaction.
+     */
+    public void insertMediaRows(Long propertyId, List<FileStorageService.StoredFile> stored) {
+        if (stored.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_MEDIA, stored, stored.size(), (ps, file) -> {
+            ps.setLong(1, propertyId);
+            ps.setString(2, file.url());
+            ps.setString(3, file.sha256());
+            ps.setTimestamp(4, now);
+        });
+    }
+
+    /**
+     * Best-effort removal of stored files, e.g. when the DB transaction fails.
+     */
+    public void deleteAll(List<String> urls) {
+        for (String url : urls) {
+            try {
+                fileStorageService.deleteFile(url.substring(url.lastIndexOf('/') + 1));
+            } catch (Exception e) {
+                log.warn("Could not clean up stored file {}: {}", url, e.getMessage());
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
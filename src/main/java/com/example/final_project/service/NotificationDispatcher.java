@@ -0,0 +1,135 @@
+package com.example.final_project.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Delivers domain events to WebSocket and SSE subscribers once the publishing
+ * transaction has committed, so a slow client or busy broker channel never
+ * holds a DB transaction open.
+ * <p>
+ * Each delivery is routed by its destination (STOMP topic or SSE recipient) to
+ * one of a fixed set of single-threaded lanes, so messages to the same topic
+ * keep their publish order while different topics are sent in parallel. When a
+ * lane's queue is full new deliveries are dropped and counted; clients recover
+ * missed updates from the REST endpoints.
+ */
+@Component
+@Slf4j
+public class NotificationDispatcher {
+
+    private final InquiryEventPublisher inquiryEvents;
+    private final NotificationService notificationService;
+    private final ThreadPoolExecutor[] lanes;
+    private final Counter dispatched;
+    private final Counter dropped;
+    private final Counter failed;
+
+    public NotificationDispatcher(InquiryEventPublisher inquiryEvents,
+            NotificationService notificationService,
+            MeterRegistry meterRegistry,
+            @Value("${app.notifications.dispatch-threads:4}") int threads,
+            @Value("${app.notifications.dispatch-queue:10000}") int queueSize) {
+        this.inquiryEvents = inquiryEvents;
+        this.notificationService = notificationService;
+        this.dispatched = meterRegistry.counter("notifications.dispatch.delivered");
+        this.dropped = meterRegistry.counter("notifications.dispatch.dropped");
+        this.failed = meterRegistry.counter("notifications.dispatch.failed");
+        this.lanes = new ThreadPoolExecutor[Math.max(1, threads)];
+        int laneQueueSize = Math.max(1, queueSize / lanes.length);
+        for (int i = 0; i < lanes.length; i++) {
+            String name = "notification-dispatch-" + i;
+            lanes[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(laneQueueSize), r -> {
+                        Thread t = new Thread(r, name);
+                        t.setDaemon(true);
+                        return t;
+                    }, (r, pool) -> {
+                        dropped.increment();
+                        log.warn("Notification dispatch queue full, dropping event");
+                    });
+        }
+        Gauge.builder("notifications.dispatch.queue.depth", this, NotificationDispatcher::queueDepth)
+                .register(meterRegistry);
+        Gauge.builder("notifications.dispatch.active", lanes,
+                pools -> Arrays.stream(pools).mapToInt(ThreadPoolExecutor::getActiveCount).sum())
+                .register(meterRegistry);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onInquiryCreated(InquiryCreatedEvent event) {
+        send("/topic/admin/inquiries", event.inquiry());
+        if (event.agentUserId() != null) {
+            send("/topic/agents/" + event.agentUserId() + "/inquiries", event.inquiry());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onInquiryAssigned(InquiryAssignedEvent event) {
+        send("/topic/agents/" + event.agentUserId() + "/inquiries", event.inquiry());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onInquiryMessage(InquiryMessageEvent event) {
+        if (event.fromUser()) {
+            // Notify admin and agent
+            send("/topic/admin/inquiries/" + event.inquiryId(), event.message());
+            if (event.agentUserId() != null) {
+                send("/topic/agents/" + event.agentUserId() + "/inquiries/" + event.inquiryId(), event.message());
+            }
+        } else {
+            // Notify user about agent/admin reply
+            send("/topic/users/" + event.userId() + "/inquiries/" + event.inquiryId(), event.message());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onListingDecision(ListingDecisionEvent event) {
+        dispatch(event.recipientEmail(),
+                () -> notificationService.pushToSubscribers(event.recipientEmail(), event.notification()));
+    }
+
+    public int queueDepth() {
+        int depth = 0;
+        for (ThreadPoolExecutor lane : lanes) {
+            depth += lane.getQueue().size();
+        }
+        return depth;
+    }
+
+    private void send(String destination, Object payload) {
+        dispatch(destination, () -> inquiryEvents.send(destination, payload));
+    }
+
+    // Same key, same lane: deliveries for one destination run one at a time, in order.
+    private void dispatch(String key, Runnable delivery) {
+        lanes[Math.floorMod(Objects.hashCode(key), lanes.length)].execute(() -> {
+            try {
+                delivery.run();
+                dispatched.increment();
+            } catch (RuntimeException e) {
+                failed.increment();
+                log.warn("Notification delivery failed: {}", e.getMessage());
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (ThreadPoolExecutor lane : lanes) {
+            lane.shutdown();
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.final_project.service;
+
+import com.example.final_project.repository.UserNotificationRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Per-recipient ring buffer of recently committed notification frames, so a
+ * reconnecting stream can be sent exactly what it missed after its
+ * Last-Event-ID. Event ids are the notification ids. Frames are recorded by the
+ * committing thread, not the dispatcher, and transactions can commit out of id
+ * order, so each ring keeps its entries sorted by id.
+ * <p>
+ * {@link #replayAfter} returns null when the buffer cannot prove it holds every
+ * event after the given id (server restarted, ring overflowed or recipient
+ * evicted); the caller then falls back to the database.
+ */
+@Component
+@RequiredArgsConstructor
+public class NotificationReplayBuffer {
+
+    private final UserNotificationRepository userNotificationRepository;
+
+    @Value("${app.sse.replay-buffer-size:50}")
+    private int bufferSize;
+
+    @Value("${app.sse.replay-max-recipients:10000}")
+    private int maxRecipients;
+
+    // Every notification with an id above this went through record() on this node
+    // (or was dropped together with an evicted recipient, see below).
+    private long coveredAfter = Long.MAX_VALUE;
+
+    // Access-ordered so the least recently active recipient is dropped first.
+    private final LinkedHashMap<String, Ring> rings = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Ring> eldest) {
+            if (size() > maxRecipients) {
+                // Recipients without a ring now rely on the DB for anything up to here.
+                coveredAfter = Math.max(coveredAfter, eldest.getValue().newestId());
+                return true;
+            }
+            return false;
+        }
+    };
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        Long maxId = userNotificationRepository.findMaxId();
+        synchronized (rings) {
+            coveredAfter = maxId != null ? maxId : 0L;
+        }
+    }
+
+    public void record(String email, long eventId, Set<ResponseBodyEmitter.DataWithMediaType> frame) {
+        synchronized (rings) {
+            rings.computeIfAbsent(email, key -> new Ring(coveredAfter)).add(eventId, frame, bufferSize);
+        }
+    }
+
+    /**
+     * Frames with an id above lastEventId, oldest first, or null if some may be missing.
+     */
+    public List<Set<ResponseBodyEmitter.DataWithMediaType>> replayAfter(String email, long lastEventId) {
+        synchronized (rings) {
+            Ring ring = rings.get(email);
+            if (ring == null) {
+                return lastEventId >= coveredAfter ? List.of() : null;
+            }
+            return ring.after(lastEventId);
+        }
+    }
+
+    private static final class Ring {
+
+        private final ArrayDeque<Map.Entry<Long, Set<ResponseBodyEmitter.DataWithMediaType>>> entries =
+                new ArrayDeque<>();
+        // Every event for this recipient with an id above this is in the ring.
+        private long coveredAfter;
+
+        private Ring(long coveredAfter) {
+            this.coveredAfter = coveredAfter;
+        }
+
+        void add(long eventId, Set<ResponseBodyEmitter.DataWithMediaType> frame, int capacity) {
+            if (eventId <= coveredAfter) {
+                // Committed after the ring already gave up this range; replay for it goes to the DB.
+                return;
+            }
+            if (entries.isEmpty() || entries.peekLast().getKey() < eventId) {
+                entries.addLast(Map.entry(eventId, frame));
+            } else {
+                // Late commit of an older id: insert in order (rare, and the ring is small).
+                List<Map.Entry<Long, Set<ResponseBodyEmitter.DataWithMediaType>>> newer = new ArrayList<>();
+                while (!entries.isEmpty() && entries.peekLast().getKey() > eventId) {
+                    newer.add(entries.removeLast());
+                }
+                entries.addLast(Map.entry(eventId, frame));
+                for (int i = newer.size() - 1; i >= 0; i--) {
+                    entries.addLast(newer.get(i));
+                }
+            }
+            while (entries.size() > capacity) {
+                coveredAfter = Math.max(coveredAfter, entries.removeFirst().getKey());
+            }
+        }
+
+        long newestId() {
+            return entries.isEmpty() ? coveredAfter : Math.max(coveredAfter, entries.peekLast().getKey());
+        }
+
+        List<Set<ResponseBodyEmitter.DataWithMediaType>> after(long lastEventId) {
+            if (lastEventId < coveredAfter) {
+                return null;
+            }
+            List<Set<ResponseBodyEmitter.DataWithMediaType>> missed = new ArrayList<>();
+            for (Map.Entry<Long, Set<ResponseBodyEmitter.DataWithMediaType>> entry : entries) {
+                if (entry.getKey() > lastEventId) {
+                    missed.add(entry.getValue());
+                }
+            }
+            return missed;
+        }
+    }
+}
@@ -3,15 +3,16 @@ package com.example.final_project.service;
 import com.example.final_project.model.UserNotification;
 import com.example.final_project.repository.UserNotificationRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import tools.jackson.databind.json.JsonMapper;
 
-import java.io.IOException;
 import java.util.List;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
@@ -19,9 +20,15 @@ public class NotificationService {
 
     private static final long SSE_TIMEOUT_MS = 30L * 60L * 1000L; // 30 minutes
 
-    private final UserNotificationRepository userNotificationRepository;
+    private static final Set<ResponseBodyEmitter.DataWithMediaType> CONNECTED_FRAME =
+            SseEmitter.event().name("connected").data("subscribed").build();
 
-    private final ConcurrentHashMap<String, CopyOnWriteArrayList<SseEmitter>> emittersByEmail = new ConcurrentHashMap<>();
+    private final UserNotificationRepository userNotificationRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SseFanout sseFanout;
+    private final NotificationReplayBuffer replayBuffer;
+    private final UnreadCounters unreadCounters;
+    private final JsonMapper jsonMapper;
 
     public List<UserNotification> getCurrentUserNotifications() {
         String email = getCurrentUserEmail();
@@ -32,24 +39,38 @@ public class NotificationService {
         String email = getCurrentUserEmail();
         UserNotification notification = userNotificationRepository.findByIdAndRecipientEmail(notificationId, email)
                 .orElseThrow(() -> new RuntimeException("Notification not found"));
+        if (!notification.isRead()) {
+            unreadCounters.notificationRead(email);
+        }
         notification.setRead(true);
         return userNotificationRepository.save(notification);
     }
 
     public SseEmitter subscribe(String email) {
-        SseEmitter emitter = new SseEmitter(SSE_TIMEOUT_MS);
-        emittersByEmail.computeIfAbsent(email, key -> new CopyOnWriteArrayList<>()).add(emitter);
-
-        emitter.onCompletion(() -> removeEmitter(email, emitter));
-        emitter.onTimeout(() -> removeEmitter(email, emitter));
-        emitter.onError(e -> removeEmitter(email, emitter));
+        return subscribe(email, null);
+    }
 
-        try {
-            emitter.send(SseEmitter.event().name("connected").data("subscribed"));
-        } catch (IOException e) {
-            removeEmitter(email, emitter);
+    /**
+     * Open a stream. With a Last-Event-ID, first resend the notifications the
+     * client missed: from the in-memory ring when it covers the gap, otherwise
+     * from the database.
+     */
+    public SseEmitter subscribe(String email, Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(SSE_TIMEOUT_MS);
+        sseFanout.register(email, emitter);
+        sseFanout.sendTo(email, emitter, CONNECTED_FRAME);
+
+        if (lastEventId != null) {
+            List<Set<ResponseBodyEmitter.DataWithMediaType>> missed = replayBuffer.replayAfter(email, lastEventId);
+            if (missed == null) {
+                missed = userNotificationRepository
+                        .findTop50ByRecipientEmailAndIdGreaterThanOrderByIdAsc(email, lastEventId)
+                        .stream()
+                        .map(this::toFrame)
+                        .toList();
+            }
+            missed.forEach(frame -> sseFanout.sendTo(email, emitter, frame));
         }
-
         return emitter;
     }
 
@@ -67,18 +88,31 @@ public class NotificationService {
                         .isRead(false)
                         .build());
 
-        List<SseEmitter> emitters = emittersByEmail.get(recipientEmail);
-        if (emitters == null || emitters.isEmpty()) {
-            return;
-        }
+        unreadCounters.notificationAdded(recipientEmail);
 
-        for (SseEmitter emitter : emitters) {
-            try {
-                emitter.send(SseEmitter.event().name("notification").data(notification));
-            } catch (IOException e) {
-                removeEmitter(recipientEmail, emitter);
-            }
-        }
+        // Recorded for replay on this thread as soon as it commits, so a dropped or
+        // delayed dispatch can never leave a gap in the ring.
+        Set<ResponseBodyEmitter.DataWithMediaType> frame = toFrame(notification);
+        TransactionCallbacks.afterCommit(() -> replayBuffer.record(recipientEmail, notification.getId(), frame));
+
+        // Pushed to open streams by NotificationDispatcher after commit.
+        eventPublisher.publishEvent(new ListingDecisionEvent(recipientEmail, notification));
+    }
+
+    /**
+     * Send a stored notification to every open stream of the recipient.
+     */
+    public void pushToSubscribers(String recipientEmail, UserNotification notification) {
+        // Serialize once; every open stream of the recipient gets the same frame.
+        sseFanout.broadcast(recipientEmail, toFrame(notification));
+    }
+
+    private Set<ResponseBodyEmitter.DataWithMediaType> toFrame(UserNotification notification) {
+        return SseEmitter.event()
+                .id(String.valueOf(notification.getId()))
+                .name("notification")
+                .data(jsonMapper.writeValueAsString(notification))
+                .build();
     }
 
     private String getCurrentUserEmail() {
@@ -88,15 +122,4 @@ public class NotificationService {
         }
         return principal.toString();
     }
-
-    private void removeEmitter(String email, SseEmitter emitter) {
-        List<SseEmitter> emitters = emittersByEmail.get(email);
-        if (emitters == null) {
-            return;
-        }
-        emitters.remove(emitter);
-        if (emitters.isEmpty()) {
-            emittersByEmail.remove(email);
-        }
-    }
 }
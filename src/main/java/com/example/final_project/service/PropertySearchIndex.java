@@ -0,0 +1,274 @@
+package com.example.final_project.service;
+
+import com.example.final_project.model.Property;
+import com.example.final_project.repository.PropertyRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over property title, address, description and facilities.
+ * Replaces the leading-wildcard LIKE scan used by the search box. The index is
+ * built at startup and kept current by PropertyService write paths on this node;
+ * a periodic rebuild picks up changes made on other nodes.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PropertySearchIndex {
+
+    private static final int REBUILD_BATCH_SIZE = 500;
+
+    // Field weights used for relevance ranking.
+    private static final double TITLE_WEIGHT = 4.0;
+    private static final double ADDRESS_WEIGHT = 3.0;
+    private static final double FACILITY_WEIGHT = 2.0;
+    private static final double DESCRIPTION_WEIGHT = 1.0;
+
+    // A query term that matches a whole token scores higher than a prefix hit.
+    private static final double PREFIX_MATCH_FACTOR = 0.5;
+
+    private final PropertyRepository propertyRepository;
+
+    // token -> (propertyId -> weight)
+    private final NavigableMap<String, Map<Long, Double>> postings = new TreeMap<>();
+
+    // propertyId -> tokens it contributed, so updates can remove old postings
+    private final Map<Long, Map<String, Double>> documents = new HashMap<>();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // While a rebuild scans, the updates applied meanwhile (null terms = removed),
+    // replayed over the scanned snapshot when it is swapped in. Guarded by the lock.
+    private Map<Long, Map<String, Double>> pendingUpdates;
+
+    private boolean built;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${app.search.rebuild-interval-ms:300000}",
+            fixedDelayString = "${app.search.rebuild-interval-ms:300000}")
+    @Transactional(readOnly = true)
+    public synchronized void rebuild() {
+        lock.writeLock().lock();
+        try {
+            pendingUpdates = new HashMap<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Map<Long, Map<String, Double>> fresh = new HashMap<>();
+        try {
+            Long afterId = null;
+            while (true) {
+                List<Property> batch = propertyRepository.findPageAfter(afterId, null, null, null, null, null,
+                        null, null, null, null, PageRequest.of(0, REBUILD_BATCH_SIZE));
+                if (batch.isEmpty()) {
+                    break;
+                }
+                for (Property property : batch) {
+                    fresh.put(property.getId(), termsOf(property));
+                }
+                afterId = batch.get(batch.size() - 1).getId();
+            }
+        } catch (RuntimeException e) {
+            // Keep serving the live index; stop recording for a swap that will not happen.
+            lock.writeLock().lock();
+            try {
+                pendingUpdates = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        int terms;
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documents.clear();
+            fresh.forEach(this::addDocument);
+            pendingUpdates.forEach(this::applyLocked);
+            pendingUpdates = null;
+            terms = postings.size();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (built) {
+            log.debug("Property search index rebuilt with {} listings and {} terms", fresh.size(), terms);
+        } else {
+            built = true;
+            log.info("Property search index built with {} listings and {} terms", fresh.size(), terms);
+        }
+    }
+
+    /**
+     * Add or replace a property in the index once the current transaction commits.
+     */
+    public void index(Property property) {
+        if (property == null || property.getId() == null) {
+            return;
+        }
+        Long id = property.getId();
+        // Read the entity now, while its lazy collections are still reachable.
+        Map<String, Double> terms = termsOf(property);
+        TransactionCallbacks.afterCommit(() -> apply(id, terms));
+    }
+
+    /**
+     * Drop a property from the index once the current transaction commits.
+     */
+    public void remove(Long propertyId) {
+        if (propertyId == null) {
+            return;
+        }
+        TransactionCallbacks.afterCommit(() -> apply(propertyId, null));
+    }
+
+    /**
+     * Return matching property ids, best match first. Every query term must match
+     * a token exactly or as a prefix.
+     */
+    public List<Long> search(String query, int limit) {
+        List<String> terms = tokenize(query);
+        if (terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        Map<Long, Double> scores = null;
+        lock.readLock().lock();
+        try {
+            for (String term : terms) {
+                Map<Long, Double> termScores = scoreTerm(term);
+                if (scores == null) {
+                    scores = termScores;
+                } else {
+                    scores.keySet().retainAll(termScores.keySet());
+                    scores.replaceAll((id, score) -> score + termScores.get(id));
+                }
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        return scores.entrySet().stream()
+                .sorted(Map.Entry.<Long, Double>comparingByValue(Comparator.reverseOrder())
+                        .thenComparing(Map.Entry.comparingByKey(Comparator.reverseOrder())))
+                .limit(limit)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Caller must hold the read lock.
+    private Map<Long, Double> scoreTerm(String term) {
+        Map<Long, Double> result = new HashMap<>();
+        for (Map.Entry<String, Map<Long, Double>> entry : postings.subMap(term, true, term + Character.MAX_VALUE, false)
+                .entrySet()) {
+            double factor = entry.getKey().equals(term) ? 1.0 : PREFIX_MATCH_FACTOR;
+            entry.getValue().forEach((id, weight) -> result.merge(id, weight * factor, Math::max));
+        }
+        return result;
+    }
+
+    private void apply(Long id, Map<String, Double> terms) {
+        lock.writeLock().lock();
+        try {
+            applyLocked(id, terms);
+            if (pendingUpdates != null) {
+                pendingUpdates.put(id, terms);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Replace or (with null terms) drop a document. Caller must hold the write lock.
+    private void applyLocked(Long id, Map<String, Double> terms) {
+        removeDocument(id);
+        if (terms != null) {
+            addDocument(id, terms);
+        }
+    }
+
+    // Caller must hold the write lock.
+    private void addDocument(Long id, Map<String, Double> terms) {
+        documents.put(id, terms);
+        terms.forEach((token, weight) -> postings.computeIfAbsent(token, k -> new HashMap<>()).put(id, weight));
+    }
+
+    // Caller must hold the write lock.
+    private void removeDocument(Long id) {
+        Map<String, Double> previous = documents.remove(id);
+        if (previous == null) {
+            return;
+        }
+        for (String token : previous.keySet()) {
+            Map<Long, Double> ids = postings.get(token);
+            if (ids != null) {
+                ids.remove(id);
+                if (ids.isEmpty()) {
+                    postings.remove(token);
+                }
+            }
+        }
+    }
+
+    private Map<String, Double> termsOf(Property property) {
+        Map<String, Double> terms = new HashMap<>();
+        addField(terms, property.getTitle(), TITLE_WEIGHT);
+        addField(terms, property.getAddress(), ADDRESS_WEIGHT);
+        addField(terms, property.getDescription(), DESCRIPTION_WEIGHT);
+        if (property.getFacilities() != null) {
+            for (String facility : property.getFacilities()) {
+                addField(terms, facility, FACILITY_WEIGHT);
+            }
+        }
+        return terms;
+    }
+
+    private void addField(Map<String, Double> terms, String text, double weight) {
+        for (String token : tokenize(text)) {
+            terms.merge(token, weight, Double::sum);
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isBlank()) {
+            return tokens;
+        }
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{Nd}]+")) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+}
@@ -1,49 +1,114 @@
 package com.example.final_project.service;
 
+import com.example.final_project.dto.PropertyCardDTO;
+import com.example.final_project.dto.PropertyFilter;
+import com.example.final_project.dto.PropertyPageDTO;
 import com.example.final_project.model.PropertyMedia;
 import com.example.final_project.model.Property;
 import com.example.final_project.model.PropertyStatus;
 import com.example.final_project.model.PropertyType;
 import com.example.final_project.model.HouseType;
+import com.example.final_project.model.Role;
 import com.example.final_project.model.User;
 import com.example.final_project.repository.PropertyMediaRepository;
 import com.example.final_project.repository.PropertyRepository;
 import com.example.final_project.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Base64;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class PropertyService {
 
+    static final int DEFAULT_PAGE_SIZE = 20;
+    static final int MAX_PAGE_SIZE = 100;
+    private static final String CURSOR_PREFIX = "p1:";
+    static final int SEARCH_RESULT_LIMIT = 50;
+
     private final PropertyRepository propertyRepository;
     private final UserRepository userRepository;
-    private final FileStorageService fileStorageService;
+    private final MediaIngestionService mediaIngestionService;
     private final PropertyMediaRepository propertyMediaRepository;
     private final NotificationService notificationService;
+    private final PropertySearchIndex searchIndex;
+    private final StatsService statsService;
+    private final ImageDerivativeService imageDerivativeService;
+    private final TransactionTemplate transactionTemplate;
 
-    public List<Property> getAllProperties() {
-        return propertyRepository.findAll();
+    public List<PropertyCardDTO> getAllProperties() {
+        return propertyRepository.findAllCards();
     }
 
-    public List<Property> searchProperties(String query) {
-        // Search by title or address
-        return propertyRepository.findByTitleContainingIgnoreCaseOrAddressContainingIgnoreCase(query, query);
+    /**
+     * Browse properties one page at a time using an opaque keyset cursor.
+     * Page size is clamped to MAX_PAGE_SIZE so a single call stays cheap
+     * regardless of catalog size.
+     */
+    public PropertyPageDTO<PropertyCardDTO> browseProperties(PropertyFilter filter, String cursor, Integer size) {
+        int pageSize = size == null || size <= 0 ? DEFAULT_PAGE_SIZE : Math.min(size, MAX_PAGE_SIZE);
+        PropertyFilter f = filter != null ? filter : new PropertyFilter();
+
+        // Fetch one extra row to know whether another page exists.
+        List<PropertyCardDTO> rows = propertyRepository.findCardPageAfter(
+                decodeCursor(cursor),
+                f.getType(),
+                f.getHouseType(),
+                f.getStatus(),
+                f.getMinPrice(),
+                f.getMaxPrice(),
+                f.getMinBedrooms(),
+                f.getMinBathrooms(),
+                f.getMinArea(),
+                f.getMaxArea(),
+                PageRequest.of(0, pageSize + 1));
+
+        boolean hasMore = rows.size() > pageSize;
+        List<PropertyCardDTO> items = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasMore ? encodeCursor(items.get(items.size() - 1).id()) : null;
+
+        return PropertyPageDTO.<PropertyCardDTO>builder()
+                .items(items)
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .size(items.size())
+                .build();
+    }
+
+    public List<PropertyCardDTO> searchProperties(String query) {
+        // Ranked ids come from the in-memory index; only the hits are loaded from the DB.
+        List<Long> ids = searchIndex.search(query, SEARCH_RESULT_LIMIT);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, PropertyCardDTO> byId = propertyRepository.findCardsByIdIn(ids).stream()
+                .collect(Collectors.toMap(PropertyCardDTO::id, Function.identity()));
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
     }
 
-    public List<Property> getPropertiesByType(PropertyType type) {
-        return propertyRepository.findByType(type);
+    public List<PropertyCardDTO> getPropertiesByType(PropertyType type) {
+        return propertyRepository.findCardsByType(type);
     }
 
     public Property getPropertyById(Long id) {
@@ -79,55 +144,41 @@ public class PropertyService {
         if (property.getStatus() == null)
             property.setStatus(PropertyStatus.AVAILABLE);
 
-        return propertyRepository.save(property);
+        Property saved = propertyRepository.save(property);
+        searchIndex.index(saved);
+        statsService.propertyCreated(saved.getStatus());
+        return saved;
     }
 
     // --- ADD THIS NEW METHOD ---
-    @Transactional
     public Property saveProperty(Property property, MultipartFile[] files) {
         // 1. Set Status to PENDING so it appears in Admin Dashboard
-        if (property.getId() == null) {
+        boolean isNew = property.getId() == null;
+        PropertyStatus previousStatus = isNew ? null
+                : propertyRepository.findById(property.getId()).map(Property::getStatus).orElse(null);
+        if (isNew) {
             property.setStatus(PropertyStatus.PENDING);
             property.setCreatedAt(LocalDateTime.now());
         }
 
-        // 2. Save the property first to get an ID
-        Property savedProperty = propertyRepository.save(property);
+        // 2. Store uploads to the 'uploads' folder in parallel, outside the transaction
+        List<FileStorageService.StoredFile> stored = mediaIngestionService.storeAll(files);
 
-        // 3. Handle Image Uploads
-        if (files != null && files.length > 0) {
-            if (savedProperty.getImageUrls() == null) {
-                savedProperty.setImageUrls(new ArrayList<>());
-            }
-            for (MultipartFile file : files) {
-                if (!file.isEmpty()) {
-                    // Store the file to the 'uploads' folder
-                    String filePath = fileStorageService.storeFile(file);
-
-                    // Create a database record linking the photo to the property
-                    PropertyMedia media = PropertyMedia.builder()
-                            .property(savedProperty)
-                            .filePath(filePath)
-                            .build();
-
-                    propertyMediaRepository.save(media);
-
-                    // Set the first image as the main thumbnail if not set
-                    if (savedProperty.getImageUrl() == null) {
-                        savedProperty.setImageUrl(filePath);
-                    }
-                    savedProperty.getImageUrls().add(filePath);
-                }
-            }
-            propertyRepository.save(savedProperty);
+        // 3. Save the property and link the photos in one short transaction
+        try {
+            return transactionTemplate.execute(status -> persistWithMedia(property, stored, isNew, previousStatus));
+        } catch (RuntimeException ex) {
+            mediaIngestionService.deleteAll(stored.stream().map(FileStorageService.StoredFile::url).toList());
+            throw ex;
         }
-        return savedProperty;
     }
 
     public Property updateProperty(Long id, Property updatedProperty) {
         Property existingProperty = propertyRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Property not found with id: " + id));
 
+        PropertyStatus previousStatus = existingProperty.getStatus();
+
         // Update fields
         existingProperty.setTitle(updatedProperty.getTitle());
         existingProperty.setDescription(updatedProperty.getDescription());
@@ -136,24 +187,40 @@ public class PropertyService {
         existingProperty.setType(updatedProperty.getType());
         existingProperty.setHouseType(updatedProperty.getHouseType());
         existingProperty.setStatus(updatedProperty.getStatus());
+        if (!Objects.equals(existingProperty.getImageUrl(), updatedProperty.getImageUrl())) {
+            // The generated card thumbnail belongs to the old main image.
+            existingProperty.setThumbnailUrl(null);
+        }
         existingProperty.setImageUrl(updatedProperty.getImageUrl());
         existingProperty.setBedrooms(updatedProperty.getBedrooms());
         existingProperty.setBathrooms(updatedProperty.getBathrooms());
         existingProperty.setAreaSqFt(updatedProperty.getAreaSqFt());
         existingProperty.setAssignedAgent(updatedProperty.getAssignedAgent());
 
-        return propertyRepository.save(existingProperty);
+        Property saved = propertyRepository.save(existingProperty);
+        searchIndex.index(saved);
+        statsService.propertyStatusChanged(previousStatus, saved.getStatus());
+        return saved;
     }
 
+    @Transactional
     public void deleteProperty(Long id) {
-        propertyRepository.deleteById(id);
+        propertyRepository.findById(id).ifPresent(property -> {
+            // Originals and generated variants; removed from disk only once the rows are gone.
+            List<String> storedFiles = property.getMediaFiles().stream()
+                    .flatMap(media -> media.storedFileUrls().stream())
+                    .toList();
+            propertyRepository.delete(property);
+            searchIndex.remove(id);
+            statsService.propertyDeleted(property.getStatus());
+            TransactionCallbacks.afterCommit(() -> mediaIngestionService.deleteAll(storedFiles));
+        });
     }
 
     /**
      * Submit a property from the public form with file uploads.
      * Property status is set to PENDING for admin review.
      */
-    @Transactional
     public Property submitProperty(com.example.final_project.dto.PropertySubmissionDTO dto,
             MultipartFile[] files) {
         String driveLink = dto.getDriveLink() != null ? dto.getDriveLink().trim() : null;
@@ -168,12 +235,11 @@ public class PropertyService {
                     "Invalid Google Drive link. Please provide a valid drive.google.com/docs.google.com resource URL.");
         }
 
-        // Find agent by name if provided
+        // Find agent by name if provided; only users with the AGENT role can be picked
         User selectedAgent = null;
-        if (dto.getAgentName() != null && !dto.getAgentName().isEmpty()) {
-            selectedAgent = userRepository.findAll().stream()
-                    .filter(u -> u.getName().equals(dto.getAgentName()))
-                    .findFirst()
+        String agentName = normalizeName(dto.getAgentName());
+        if (!agentName.isEmpty()) {
+            selectedAgent = userRepository.findFirstByRoleAndNameIgnoreCaseOrderByIdAsc(Role.AGENT, agentName)
                     .orElse(null);
         }
 
@@ -198,42 +264,59 @@ public class PropertyService {
                 .createdAt(LocalDateTime.now())
                 .build();
 
-        // Save property first to get ID
-        property = propertyRepository.save(property);
-
-        List<String> storedFilePaths = new ArrayList<>();
-
-        // Store uploaded files and create PropertyMedia records
+        // Store uploads concurrently before opening a transaction, so no DB
+        // connection is held while files are copied to disk.
+        List<FileStorageService.StoredFile> stored = mediaIngestionService.storeAll(files);
         try {
-            if (files != null && files.length > 0) {
-                if (property.getImageUrls() == null) {
-                    property.setImageUrls(new ArrayList<>());
-                }
-                for (MultipartFile file : files) {
-                    if (!file.isEmpty()) {
-                        String filePath = fileStorageService.storeFile(file);
-                        storedFilePaths.add(filePath);
-
-                        PropertyMedia media = PropertyMedia.builder()
-                                .property(property)
-                                .filePath(filePath)
-                                .build();
-                        propertyMediaRepository.save(media);
-
-                        property.getImageUrls().add(filePath);
-                        if (property.getImageUrl() == null) {
-                            property.setImageUrl(filePath);
-                        }
-                    }
-                }
-                property = propertyRepository.save(property);
-            }
+            Property pending = property;
+            return transactionTemplate.execute(status -> persistWithMedia(pending, stored, true, null));
         } catch (RuntimeException ex) {
-            cleanupStoredFiles(storedFilePaths);
+            mediaIngestionService.deleteAll(stored.stream().map(FileStorageService.StoredFile::url).toList());
             throw ex;
         }
+    }
 
-        return property;
+    /**
+     * Save a property and its already-stored uploads in the current transaction.
+     * Media rows go in as one JDBC batch; IDENTITY ids stop Hibernate from batching them.
+     */
+    private Property persistWithMedia(Property property, List<FileStorageService.StoredFile> stored,
+            boolean isNew, PropertyStatus previousStatus) {
+        if (!stored.isEmpty()) {
+            if (property.getImageUrls() == null) {
+                property.setImageUrls(new ArrayList<>());
+            }
+            for (FileStorageService.StoredFile file : stored) {
+                property.getImageUrls().add(file.url());
+            }
+            // Set the first image as the main thumbnail if not set
+            if (property.getImageUrl() == null) {
+                property.setImageUrl(stored.get(0).url());
+            }
+        }
+
+        Property saved = propertyRepository.saveAndFlush(property);
+
+        if (!stored.isEmpty()) {
+            mediaIngestionService.insertMediaRows(saved.getId(), stored);
+            // Only the new uploads need derivatives; earlier media already have theirs.
+            propertyMediaRepository.findByPropertyIdAndFilePathIn(saved.getId(),
+                    stored.stream().map(FileStorageService.StoredFile::url).toList())
+                    .forEach(imageDerivativeService::scheduleFor);
+        }
+
+        searchIndex.index(saved);
+        if (isNew) {
+            statsService.propertyCreated(saved.getStatus());
+        } else {
+            statsService.propertyStatusChanged(previousStatus, saved.getStatus());
+        }
+        return saved;
+    }
+
+    // Trim and collapse inner whitespace; case is folded by the query.
+    private static String normalizeName(String name) {
+        return name != null ? name.trim().replaceAll("\\s+", " ") : "";
     }
 
     private PropertyType determinePropertyType(String typeStr) {
@@ -258,6 +341,13 @@ public class PropertyService {
         }
     }
 
+    /**
+     * Get uploaded media for a property, including any generated size variants.
+     */
+    public List<PropertyMedia> getPropertyMedia(Long propertyId) {
+        return propertyMediaRepository.findByPropertyIdOrderByIdAsc(propertyId);
+    }
+
     /**
      * Get all properties with PENDING status for admin review.
      */
@@ -281,6 +371,8 @@ public class PropertyService {
         property.setAdminDecisionMessage(adminMessage);
         property.setReviewedAt(LocalDateTime.now());
         Property saved = propertyRepository.save(property);
+        searchIndex.index(saved);
+        statsService.propertyStatusChanged(PropertyStatus.PENDING, PropertyStatus.AVAILABLE);
 
         notificationService.publishListingDecision(
                 saved.getOwnerEmail(),
@@ -307,6 +399,8 @@ public class PropertyService {
         property.setAdminDecisionMessage(reason);
         property.setReviewedAt(LocalDateTime.now());
         Property saved = propertyRepository.save(property);
+        searchIndex.index(saved);
+        statsService.propertyStatusChanged(PropertyStatus.PENDING, PropertyStatus.REJECTED);
 
         notificationService.publishListingDecision(
                 saved.getOwnerEmail(),
@@ -356,14 +450,24 @@ public class PropertyService {
         }
     }
 
-    private void cleanupStoredFiles(List<String> storedFilePaths) {
-        for (String path : storedFilePaths) {
-            try {
-                fileStorageService.deleteFile(path.substring(path.lastIndexOf('/') + 1));
-            } catch (Exception ignored) {
-                // Keep rollback path best-effort; DB transaction will still revert
-                // property/media records.
+    private String encodeCursor(Long lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((CURSOR_PREFIX + lastId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Long decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8);
+            if (!raw.startsWith(CURSOR_PREFIX)) {
+                throw new IllegalArgumentException("Invalid cursor");
             }
+            return Long.parseLong(raw.substring(CURSOR_PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            // Also covers NumberFormatException and malformed base64.
+            throw new IllegalArgumentException("Invalid cursor", e);
         }
     }
 }
@@ -0,0 +1,109 @@
+package com.example.final_project.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Coalesces inquiry read receipts in memory and writes them in batches.
+ * Opening a thread used to issue an UPDATE on the inquiry row per request;
+ * now each (inquiry, side) keeps only its latest timestamp until the next flush.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReadReceiptBuffer {
+
+    private static final String UPDATE_USER_READ = "UPDATE inquiries SET last_read_at_user = ?"
+            + " WHERE id = ? AND (last_read_at_user IS NULL OR last_read_at_user < ?)";
+    private static final String UPDATE_ADMIN_READ = "UPDATE inquiries SET last_read_at_admin = ?"
+            + " WHERE id = ? AND (last_read_at_admin IS NULL OR last_read_at_admin < ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final ConcurrentHashMap<Long, LocalDateTime> pendingUserReads = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, LocalDateTime> pendingAdminReads = new ConcurrentHashMap<>();
+
+    public void markReadByUser(Long inquiryId) {
+        pendingUserReads.merge(inquiryId, LocalDateTime.now(), ReadReceiptBuffer::latest);
+    }
+
+    public void markReadByAdmin(Long inquiryId) {
+        pendingAdminReads.merge(inquiryId, LocalDateTime.now(), ReadReceiptBuffer::latest);
+    }
+
+    /**
+     * Latest user read time, combining the stored value with any unflushed receipt.
+     */
+    public LocalDateTime effectiveUserRead(Long inquiryId, LocalDateTime stored) {
+        return latest(stored, pendingUserReads.get(inquiryId));
+    }
+
+    /**
+     * Latest admin/agent read time, combining the stored value with any unflushed receipt.
+     */
+    public LocalDateTime effectiveAdminRead(Long inquiryId, LocalDateTime stored) {
+        return latest(stored, pendingAdminReads.get(inquiryId));
+    }
+
+    @Scheduled(fixedDelayString = "${app.read-receipts.flush-interval-ms:2000}")
+    public void flush() {
+        flush(pendingUserReads, UPDATE_USER_READ);
+        flush(pendingAdminReads, UPDATE_ADMIN_READ);
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private void flush(ConcurrentHashMap<Long, LocalDateTime> pending, String sql) {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        List<Map.Entry<Long, LocalDateTime>> drained = new ArrayList<>();
+        for (Long inquiryId : pending.keySet()) {
+            LocalDateTime readAt = pending.remove(inquiryId);
+            if (readAt != null) {
+                drained.add(Map.entry(inquiryId, readAt));
+            }
+        }
+        if (drained.isEmpty()) {
+            return;
+        }
+
+        try {
+            jdbcTemplate.batchUpdate(sql, drained, drained.size(), (ps, entry) -> {
+                Timestamp readAt = Timestamp.valueOf(entry.getValue());
+                ps.setTimestamp(1, readAt);
+                ps.setLong(2, entry.getKey());
+                ps.setTimestamp(3, readAt);
+            });
+        } catch (RuntimeException e) {
+            // Put receipts back so the next flush retries them.
+            drained.forEach(entry -> pending.merge(entry.getKey(), entry.getValue(), ReadReceiptBuffer::latest));
+            log.warn("Failed to flush {} read receipts: {}", drained.size(), e.getMessage());
+        }
+    }
+
+    private static LocalDateTime latest(LocalDateTime a, LocalDateTime b) {
+        if (a == null) {
+            return b;
+        }
+        if (b == null) {
+            return a;
+        }
+        return a.isAfter(b) ? a : b;
+    }
+}
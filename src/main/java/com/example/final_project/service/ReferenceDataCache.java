@@ -0,0 +1,171 @@
+package com.example.final_project.service;
+
+import com.example.final_project.model.Agent;
+import com.example.final_project.model.User;
+import com.example.final_project.repository.AgentRepository;
+import com.example.final_project.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Lookup caches for Agent/User reference data.
+ * <p>
+ * Agent and User rows themselves live in the Hibernate second-level cache, so
+ * findById is served from memory. This class adds the two lookups that are not
+ * by primary key, linked user id to agent id and email to user id, as bounded
+ * LRU maps of ids. Both then resolve through findById. Hit/miss counts for these
+ * maps and for the entity regions are published to Micrometer.
+ */
+@Component
+public class ReferenceDataCache {
+
+    // Marks "looked up, no agent linked" so non-agents do not query every time.
+    private static final Long NONE = -1L;
+
+    private final AgentRepository agentRepository;
+    private final UserRepository userRepository;
+
+    private final LruIds<Long> agentIdByLinkedUser;
+    private final LruIds<String> userIdByEmail;
+
+    public ReferenceDataCache(AgentRepository agentRepository,
+            UserRepository userRepository,
+            MeterRegistry meterRegistry,
+            EntityManagerFactory entityManagerFactory,
+            @Value("${app.cache.reference.max-size:20000}") int maxSize) {
+        this.agentRepository = agentRepository;
+        this.userRepository = userRepository;
+        this.agentIdByLinkedUser = new LruIds<>(maxSize, meterRegistry, "agent-by-linked-user");
+        this.userIdByEmail = new LruIds<>(maxSize, meterRegistry, "user-by-email");
+        registerRegionMetrics(meterRegistry, entityManagerFactory, Agent.CACHE_REGION);
+        registerRegionMetrics(meterRegistry, entityManagerFactory, User.CACHE_REGION);
+    }
+
+    /**
+     * The agent profile linked to a user account, if any.
+     */
+    public Optional<Agent> findAgentByLinkedUserId(Long userId) {
+        if (userId == null) {
+            return Optional.empty();
+        }
+        Long agentId = agentIdByLinkedUser.get(userId, id -> agentRepository.findByLinkedUserId(id)
+                .map(Agent::getId)
+                .orElse(NONE));
+        return NONE.equals(agentId) ? Optional.empty() : agentRepository.findById(agentId);
+    }
+
+    public Optional<User> findUserByEmail(String email) {
+        if (email == null) {
+            return Optional.empty();
+        }
+        Long userId = userIdByEmail.get(email, key -> userRepository.findByEmail(key)
+                .map(User::getId)
+                .orElse(NONE));
+        return NONE.equals(userId) ? Optional.empty() : userRepository.findById(userId);
+    }
+
+    /**
+     * Forget agent lookups after an agent is created, updated or deleted.
+     * Agent changes are rare, so the whole map is dropped rather than tracked per key.
+     */
+    public void evictAgents() {
+        agentIdByLinkedUser.clear();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        if (event.email() != null) {
+            userIdByEmail.remove(event.email());
+        }
+        if (event.userId() != null) {
+            userIdByEmail.removeValue(event.userId());
+            agentIdByLinkedUser.remove(event.userId());
+        }
+    }
+
+    private static void registerRegionMetrics(MeterRegistry registry, EntityManagerFactory emf, String region) {
+        Statistics statistics = emf.unwrap(SessionFactory.class).getStatistics();
+        regionCounter(registry, statistics, region, "hit", CacheRegionStatistics::getHitCount);
+        regionCounter(registry, statistics, region, "miss", CacheRegionStatistics::getMissCount);
+    }
+
+    private static void regionCounter(MeterRegistry registry, Statistics statistics, String region, String result,
+            ToDoubleFunction<CacheRegionStatistics> count) {
+        FunctionCounter.builder("cache.second-level.gets", statistics, stats -> {
+                    CacheRegionStatistics regionStats = stats.getDomainDataRegionStatistics(region);
+                    return regionStats != null ? count.applyAsDouble(regionStats) : 0;
+                })
+                .tag("region", region)
+                .tag("result", result)
+                .register(registry);
+    }
+
+    /**
+     * Bounded, access-ordered key to id map with hit/miss counters.
+     */
+    private static final class LruIds<K> {
+
+        private final LinkedHashMap<K, Long> entries;
+        private final Counter hits;
+        private final Counter misses;
+
+        LruIds(int maxSize, MeterRegistry registry, String name) {
+            this.entries = new LinkedHashMap<>(256, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<K, Long> eldest) {
+                    return size() > maxSize;
+                }
+            };
+            this.hits = registry.counter("cache.reference.gets", "cache", name, "result", "hit");
+            this.misses = registry.counter("cache.reference.gets", "cache", name, "result", "miss");
+        }
+
+        Long get(K key, Function<K, Long> loader) {
+            synchronized (entries) {
+                Long cached = entries.get(key);
+                if (cached != null) {
+                    hits.increment();
+                    return cached;
+                }
+            }
+            misses.increment();
+            Long loaded = loader.apply(key);
+            synchronized (entries) {
+                entries.put(key, loaded);
+            }
+            return loaded;
+        }
+
+        void remove(K key) {
+            synchronized (entries) {
+                entries.remove(key);
+            }
+        }
+
+        void removeValue(Long value) {
+            synchronized (entries) {
+                entries.values().removeIf(value::equals);
+            }
+        }
+
+        void clear() {
+            synchronized (entries) {
+                entries.clear();
+            }
+        }
+    }
+}
@@ -11,6 +11,7 @@ import com.example.final_project.repository.SellerApplicationRepository;
 import com.example.final_project.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -29,6 +30,8 @@ public class SellerService {
     private final com.example.final_project.repository.StoredCredentialRepository storedCredentialRepository;
     private final EmailService emailService;
     private final PasswordEncoder passwordEncoder;
+    private final StatsService statsService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Value("${app.base-url}")
     private String appBaseUrl;
@@ -79,6 +82,7 @@ public class SellerService {
                 .enabled(false)
                 .build();
         userRepository.save(user);
+        statsService.userRegistered();
 
         // 2. Create Activation Token
         String tokenString = UUID.randomUUID().toString();
@@ -133,6 +137,7 @@ public class SellerService {
         user.setPassword(passwordEncoder.encode(dto.getPassword()));
         user.setEnabled(true);
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(user.getId(), user.getEmail()));
 
         token.setUsed(true);
         tokenRepository.save(token);
@@ -213,6 +218,7 @@ public class SellerService {
                     .enabled(true)
                     .build();
             userRepository.save(user);
+            statsService.userRegistered();
         }
 
         // Save to StoredCredential if not exists
@@ -0,0 +1,212 @@
+package com.example.final_project.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fan-out engine for server-sent event streams, keyed by recipient email.
+ * <p>
+ * Each event is rendered once and the same frame is queued on every target
+ * stream. Streams drain their own queue on a shared sender pool, so one slow
+ * client never delays the others. A stream whose queue exceeds the configured
+ * limit is treated as stuck and closed. Periodic heartbeats make dead
+ * connections fail (and be removed) long before the emitter timeout.
+ */
+@Component
+@Slf4j
+public class SseFanout {
+
+    private static final Set<ResponseBodyEmitter.DataWithMediaType> HEARTBEAT =
+            SseEmitter.event().comment("heartbeat").build();
+
+    private final ConcurrentHashMap<String, CopyOnWriteArrayList<Stream>> streamsByEmail = new ConcurrentHashMap<>();
+    private final AtomicInteger activeStreams = new AtomicInteger();
+    private final ThreadPoolExecutor sender;
+    private final int maxPendingPerStream;
+    private final Counter evicted;
+    private final Counter framesSent;
+
+    public SseFanout(MeterRegistry meterRegistry,
+            @Value("${app.sse.send-threads:8}") int sendThreads,
+            @Value("${app.sse.max-pending-per-stream:32}") int maxPendingPerStream) {
+        this.maxPendingPerStream = maxPendingPerStream;
+        // At most one drain task per stream is queued, so the queue is bounded by
+        // the number of open streams.
+        this.sender = new ThreadPoolExecutor(sendThreads, sendThreads, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), r -> {
+                    Thread t = new Thread(r, "sse-sender");
+                    t.setDaemon(true);
+                    return t;
+                });
+        this.evicted = meterRegistry.counter("sse.streams.evicted");
+        this.framesSent = meterRegistry.counter("sse.frames.sent");
+        Gauge.builder("sse.streams.active", activeStreams, AtomicInteger::get).register(meterRegistry);
+        Gauge.builder("sse.streams.recipients", streamsByEmail, ConcurrentHashMap::size).register(meterRegistry);
+        Gauge.builder("sse.sender.queue.depth", sender, pool -> pool.getQueue().size()).register(meterRegistry);
+    }
+
+    /**
+     * Register an emitter for a recipient. The emitter is removed automatically
+     * when it completes, times out, errors or is evicted.
+     */
+    public void register(String email, SseEmitter emitter) {
+        Stream stream = new Stream(email, emitter);
+        streamsByEmail.computeIfAbsent(email, key -> new CopyOnWriteArrayList<>()).add(stream);
+        activeStreams.incrementAndGet();
+
+        emitter.onCompletion(() -> remove(stream));
+        emitter.onTimeout(() -> remove(stream));
+        emitter.onError(e -> remove(stream));
+    }
+
+    /**
+     * Queue a frame for one emitter only, e.g. the greeting or a replay.
+     */
+    public void sendTo(String email, SseEmitter emitter, Set<ResponseBodyEmitter.DataWithMediaType> frame) {
+        List<Stream> streams = streamsByEmail.get(email);
+        if (streams == null) {
+            return;
+        }
+        for (Stream stream : streams) {
+            if (stream.emitter == emitter) {
+                stream.enqueue(frame);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Queue an already-built frame on every stream of the recipient.
+     */
+    public void broadcast(String email, Set<ResponseBodyEmitter.DataWithMediaType> frame) {
+        List<Stream> streams = streamsByEmail.get(email);
+        if (streams == null) {
+            return;
+        }
+        for (Stream stream : streams) {
+            stream.enqueue(frame);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.sse.heartbeat-interval-ms:20000}")
+    public void heartbeat() {
+        for (List<Stream> streams : streamsByEmail.values()) {
+            for (Stream stream : streams) {
+                stream.enqueue(HEARTBEAT);
+            }
+        }
+    }
+
+    public int activeStreams() {
+        return activeStreams.get();
+    }
+
+    private void remove(Stream stream) {
+        if (!stream.closed.compareAndSet(false, true)) {
+            return;
+        }
+        activeStreams.decrementAndGet();
+        streamsByEmail.computeIfPresent(stream.email, (key, streams) -> {
+            streams.remove(stream);
+            return streams.isEmpty() ? null : streams;
+        });
+    }
+
+    private void evict(Stream stream, String reason) {
+        if (stream.closed.get()) {
+            return;
+        }
+        evicted.increment();
+        log.debug("Evicting SSE stream for {}: {}", stream.email, reason);
+        remove(stream);
+        try {
+            stream.emitter.complete();
+        } catch (RuntimeException ignored) {
+            // Connection already gone.
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sender.shutdownNow();
+    }
+
+    private final class Stream {
+
+        private final String email;
+        private final SseEmitter emitter;
+        private final Queue<Set<ResponseBodyEmitter.DataWithMediaType>> pending = new ArrayDeque<>();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private boolean draining;
+
+        private Stream(String email, SseEmitter emitter) {
+            this.email = email;
+            this.emitter = emitter;
+        }
+
+        void enqueue(Set<ResponseBodyEmitter.DataWithMediaType> frame) {
+            if (closed.get()) {
+                return;
+            }
+            boolean overflow;
+            boolean schedule = false;
+            synchronized (this) {
+                overflow = pending.size() >= maxPendingPerStream;
+                if (!overflow) {
+                    pending.add(frame);
+                    if (!draining) {
+                        draining = true;
+                        schedule = true;
+                    }
+                }
+            }
+            if (overflow) {
+                // The client is not reading fast enough; drop it rather than buffer forever.
+                evict(this, "write queue full");
+            } else if (schedule) {
+                sender.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                Set<ResponseBodyEmitter.DataWithMediaType> frame;
+                synchronized (this) {
+                    frame = pending.poll();
+                    if (frame == null || closed.get()) {
+                        pending.clear();
+                        draining = false;
+                        return;
+                    }
+                }
+                try {
+                    emitter.send(frame);
+                    framesSent.increment();
+                } catch (IOException | RuntimeException e) {
+                    evict(this, e.getMessage());
+                }
+            }
+        }
+    }
+}
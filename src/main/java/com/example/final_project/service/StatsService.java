@@ -0,0 +1,119 @@
+package com.example.final_project.service;
+
+import com.example.final_project.dto.StatsDTO;
+import com.example.final_project.model.PropertyStatus;
+import com.example.final_project.repository.AgentRepository;
+import com.example.final_project.repository.PropertyRepository;
+import com.example.final_project.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory admin dashboard counters.
+ * Seeded at startup, adjusted by the write paths that change users, agents and
+ * property status, and periodically reconciled against the database so any drift
+ * is bounded. Reading the stats never touches MySQL.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class StatsService {
+
+    private final UserRepository userRepository;
+    private final PropertyRepository propertyRepository;
+    private final AgentRepository agentRepository;
+
+    private final AtomicLong totalUsers = new AtomicLong();
+    private final AtomicLong totalAgents = new AtomicLong();
+    private final Map<PropertyStatus, AtomicLong> propertiesByStatus = new EnumMap<>(PropertyStatus.class);
+
+    {
+        for (PropertyStatus status : PropertyStatus.values()) {
+            propertiesByStatus.put(status, new AtomicLong());
+        }
+    }
+
+    public StatsDTO getStats() {
+        long totalProperties = propertiesByStatus.values().stream().mapToLong(AtomicLong::get).sum();
+        return new StatsDTO(
+                totalUsers.get(),
+                totalProperties,
+                count(PropertyStatus.AVAILABLE),
+                count(PropertyStatus.PENDING),
+                count(PropertyStatus.SOLD),
+                count(PropertyStatus.RENTED),
+                totalAgents.get());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        reconcile();
+    }
+
+    /**
+     * Reload every counter from the database.
+     */
+    @Scheduled(initialDelayString = "${app.stats.reconcile-interval-ms:300000}",
+            fixedDelayString = "${app.stats.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        Map<PropertyStatus, Long> fresh = new EnumMap<>(PropertyStatus.class);
+        for (PropertyRepository.StatusCount row : propertyRepository.countGroupedByStatus()) {
+            // Legacy rows without a status are not part of any dashboard bucket.
+            if (row.getStatus() != null) {
+                fresh.put(row.getStatus(), row.getTotal());
+            }
+        }
+        propertiesByStatus.forEach((status, counter) -> counter.set(fresh.getOrDefault(status, 0L)));
+        totalUsers.set(userRepository.count());
+        totalAgents.set(agentRepository.count());
+        log.debug("Stats reconciled: users={}, agents={}, properties={}", totalUsers.get(), totalAgents.get(), fresh);
+    }
+
+    public void propertyCreated(PropertyStatus status) {
+        TransactionCallbacks.afterCommit(() -> adjust(status, 1));
+    }
+
+    public void propertyDeleted(PropertyStatus status) {
+        TransactionCallbacks.afterCommit(() -> adjust(status, -1));
+    }
+
+    public void propertyStatusChanged(PropertyStatus from, PropertyStatus to) {
+        if (from == to) {
+            return;
+        }
+        TransactionCallbacks.afterCommit(() -> {
+            adjust(from, -1);
+            adjust(to, 1);
+        });
+    }
+
+    public void userRegistered() {
+        TransactionCallbacks.afterCommit(totalUsers::incrementAndGet);
+    }
+
+    public void agentCreated() {
+        TransactionCallbacks.afterCommit(totalAgents::incrementAndGet);
+    }
+
+    public void agentDeleted() {
+        TransactionCallbacks.afterCommit(totalAgents::decrementAndGet);
+    }
+
+    private long count(PropertyStatus status) {
+        return propertiesByStatus.get(status).get();
+    }
+
+    private void adjust(PropertyStatus status, long delta) {
+        if (status != null) {
+            propertiesByStatus.get(status).addAndGet(delta);
+        }
+    }
+}
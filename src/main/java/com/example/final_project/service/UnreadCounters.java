@@ -0,0 +1,200 @@
+package com.example.final_project.service;
+
+import com.example.final_project.repository.InquiryRepository;
+import com.example.final_project.repository.UserNotificationRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Unread counts for notification and inquiry badges, kept in memory and updated
+ * by the InquiryService/NotificationService write paths after commit.
+ * <p>
+ * Inquiry state is tracked per inquiry (who has not yet seen its latest message)
+ * so repeated reads or replies never double count. Notification counts are
+ * loaded per recipient on first use. Everything is rebuilt from the database
+ * on a schedule to correct any drift.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UnreadCounters {
+
+    // Key used for inquiries with no agent (or an agent without a login).
+    private static final Long NO_AGENT = -1L;
+
+    private final InquiryRepository inquiryRepository;
+    private final UserNotificationRepository userNotificationRepository;
+    private final ReadReceiptBuffer readReceipts;
+
+    // inquiryId -> owning user id, for inquiries with a staff message the user has not read
+    private final Map<Long, Long> unreadByUser = new HashMap<>();
+    private final Map<Long, Integer> userCounts = new HashMap<>();
+
+    // inquiryId -> assigned agent's user id, for inquiries with a customer message staff have not read
+    private final Map<Long, Long> unreadByStaff = new HashMap<>();
+    private final Map<Long, Integer> agentCounts = new HashMap<>();
+
+    // recipient email -> unread notifications
+    private final ConcurrentHashMap<String, Integer> notificationCounts = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        Map<Long, Long> userUnread = new HashMap<>();
+        Map<Long, Long> staffUnread = new HashMap<>();
+        for (InquiryRepository.UnreadState state : inquiryRepository.findUnreadStates()) {
+            LocalDateTime lastMessageAt = state.getLastMessageAt();
+            if (lastMessageAt == null) {
+                continue;
+            }
+            LocalDateTime adminRead = readReceipts.effectiveAdminRead(state.getId(), state.getLastReadAtAdmin());
+            if (adminRead == null || lastMessageAt.isAfter(adminRead)) {
+                staffUnread.put(state.getId(), agentKey(state.getAgentUserId()));
+            }
+            LocalDateTime userRead = readReceipts.effectiveUserRead(state.getId(), state.getLastReadAtUser());
+            if (lastMessageAt.isAfter(userRead != null ? userRead : state.getCreatedAt())) {
+                userUnread.put(state.getId(), state.getUserId());
+            }
+        }
+
+        synchronized (this) {
+            unreadByUser.clear();
+            userCounts.clear();
+            userUnread.forEach(this::markUnreadForUserLocked);
+            unreadByStaff.clear();
+            agentCounts.clear();
+            staffUnread.forEach(this::markUnreadForStaffLocked);
+        }
+        notificationCounts.clear();
+        log.info("Unread counters seeded: {} user-unread, {} staff-unread inquiries",
+                userUnread.size(), staffUnread.size());
+    }
+
+    @Scheduled(initialDelayString = "${app.unread.reconcile-interval-ms:300000}",
+            fixedDelayString = "${app.unread.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        seed();
+    }
+
+    // ==================== COUNTS ====================
+
+    public synchronized long inquiriesUnreadByUser(Long userId) {
+        return userCounts.getOrDefault(userId, 0);
+    }
+
+    public synchronized long inquiriesUnreadByAgent(Long agentUserId) {
+        return agentCounts.getOrDefault(agentKey(agentUserId), 0);
+    }
+
+    public synchronized long inquiriesUnreadByAdmin() {
+        return unreadByStaff.size();
+    }
+
+    public long notificationsUnread(String email) {
+        return notificationCounts.computeIfAbsent(email,
+                key -> (int) userNotificationRepository.countByRecipientEmailAndIsReadFalse(key));
+    }
+
+    // ==================== WRITE-PATH HOOKS (applied after commit) ====================
+
+    /**
+     * A customer wrote in an inquiry: staff have something new, the customer has read it all.
+     */
+    public void customerMessage(Long inquiryId, Long userId, Long agentUserId) {
+        TransactionCallbacks.afterCommit(() -> {
+            synchronized (this) {
+                markReadForUserLocked(inquiryId);
+                markUnreadForStaffLocked(inquiryId, agentKey(agentUserId));
+            }
+        });
+    }
+
+    /**
+     * An admin or agent replied: the customer has something new, staff have read it all.
+     */
+    public void staffMessage(Long inquiryId, Long userId) {
+        TransactionCallbacks.afterCommit(() -> {
+            synchronized (this) {
+                markReadForStaffLocked(inquiryId);
+                markUnreadForUserLocked(inquiryId, userId);
+            }
+        });
+    }
+
+    public void readByUser(Long inquiryId) {
+        TransactionCallbacks.afterCommit(() -> {
+            synchronized (this) {
+                markReadForUserLocked(inquiryId);
+            }
+        });
+    }
+
+    public void readByStaff(Long inquiryId) {
+        TransactionCallbacks.afterCommit(() -> {
+            synchronized (this) {
+                markReadForStaffLocked(inquiryId);
+            }
+        });
+    }
+
+    public void reassigned(Long inquiryId, Long agentUserId) {
+        TransactionCallbacks.afterCommit(() -> {
+            synchronized (this) {
+                if (unreadByStaff.containsKey(inquiryId)) {
+                    markReadForStaffLocked(inquiryId);
+                    markUnreadForStaffLocked(inquiryId, agentKey(agentUserId));
+                }
+            }
+        });
+    }
+
+    public void notificationAdded(String email) {
+        // Only adjust recipients already loaded; others are counted on first use.
+        TransactionCallbacks.afterCommit(() -> notificationCounts.computeIfPresent(email, (key, count) -> count + 1));
+    }
+
+    public void notificationRead(String email) {
+        TransactionCallbacks.afterCommit(
+                () -> notificationCounts.computeIfPresent(email, (key, count) -> Math.max(0, count - 1)));
+    }
+
+    // ==================== INTERNALS (caller holds the monitor) ====================
+
+    private void markUnreadForUserLocked(Long inquiryId, Long userId) {
+        if (userId != null && unreadByUser.putIfAbsent(inquiryId, userId) == null) {
+            userCounts.merge(userId, 1, Integer::sum);
+        }
+    }
+
+    private void markReadForUserLocked(Long inquiryId) {
+        Long userId = unreadByUser.remove(inquiryId);
+        if (userId != null) {
+            userCounts.computeIfPresent(userId, (key, count) -> count > 1 ? count - 1 : null);
+        }
+    }
+
+    private void markUnreadForStaffLocked(Long inquiryId, Long agentKey) {
+        if (unreadByStaff.putIfAbsent(inquiryId, agentKey) == null) {
+            agentCounts.merge(agentKey, 1, Integer::sum);
+        }
+    }
+
+    private void markReadForStaffLocked(Long inquiryId) {
+        Long agentKey = unreadByStaff.remove(inquiryId);
+        if (agentKey != null) {
+            agentCounts.computeIfPresent(agentKey, (key, count) -> count > 1 ? count - 1 : null);
+        }
+    }
+
+    private static Long agentKey(Long agentUserId) {
+        return agentUserId != null ? agentUserId : NO_AGENT;
+    }
+}
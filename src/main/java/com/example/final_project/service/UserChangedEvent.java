@@ -0,0 +1,8 @@
+package com.example.final_project.service;
+
+/**
+ * Published by the services that update or delete a User row, so caches keyed by
+ * user id or email can drop stale entries. Listeners handle it after commit.
+ */
+public record UserChangedEvent(Long userId, String email) {
+}
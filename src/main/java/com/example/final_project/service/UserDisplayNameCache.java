@@ -0,0 +1,115 @@
+package com.example.final_project.service;
+
+import com.example.final_project.model.User;
+import com.example.final_project.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Bounded, TTL-based cache of user id to display name.
+ * Used when mapping chat messages, where a long thread usually has only a few senders.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserDisplayNameCache {
+
+    public static final String UNKNOWN_NAME = "Unknown";
+
+    private final UserRepository userRepository;
+
+    @Value("${app.cache.user-names.max-size:10000}")
+    private int maxSize;
+
+    @Value("${app.cache.user-names.ttl-seconds:600}")
+    private long ttlSeconds;
+
+    // Access-ordered so the least recently used entry is evicted first.
+    private final LinkedHashMap<Long, CachedName> entries = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, CachedName> eldest) {
+            return size() > maxSize;
+        }
+    };
+
+    /**
+     * Resolve a single user's display name.
+     */
+    public String resolve(Long userId) {
+        return resolveAll(Set.of(userId)).getOrDefault(userId, UNKNOWN_NAME);
+    }
+
+    /**
+     * Resolve display names for a set of users, loading every cache miss in one query.
+     * Ids that do not match a user map to "Unknown".
+     */
+    public Map<Long, String> resolveAll(Collection<Long> userIds) {
+        Map<Long, String> result = new HashMap<>();
+        Set<Long> misses = new LinkedHashSet<>();
+        long now = System.currentTimeMillis();
+
+        synchronized (entries) {
+            for (Long id : userIds) {
+                if (id == null) {
+                    continue;
+                }
+                CachedName cached = entries.get(id);
+                if (cached != null && cached.expiresAt() > now) {
+                    result.put(id, cached.name());
+                } else {
+                    misses.add(id);
+                }
+            }
+        }
+
+        if (misses.isEmpty()) {
+            return result;
+        }
+
+        Map<Long, String> loaded = new HashMap<>();
+        for (User user : userRepository.findAllById(misses)) {
+            loaded.put(user.getId(), user.getName() != null ? user.getName() : UNKNOWN_NAME);
+        }
+
+        long expiresAt = now + ttlSeconds * 1000L;
+        synchronized (entries) {
+            for (Long id : misses) {
+                String name = loaded.getOrDefault(id, UNKNOWN_NAME);
+                entries.put(id, new CachedName(name, expiresAt));
+                result.put(id, name);
+            }
+        }
+        return result;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        evict(event.userId());
+    }
+
+    public void evict(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        synchronized (entries) {
+            entries.remove(userId);
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    private record CachedName(String name, long expiresAt) {
+    }
+}
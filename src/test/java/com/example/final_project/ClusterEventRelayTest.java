@@ -0,0 +1,80 @@
+package com.example.final_project;
+
+import com.example.final_project.repository.ClusterEventRepository;
+import com.example.final_project.service.JdbcClusterEventRelay;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Two JDBC relays sharing one database, as two nodes would: each delivers the
+ * other's messages to its local subscribers exactly once and never echoes its own.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ClusterEventRelayTest {
+
+    @Autowired
+    private ClusterEventRepository clusterEventRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final List<String> deliveredOnA = new CopyOnWriteArrayList<>();
+    private final List<String> deliveredOnB = new CopyOnWriteArrayList<>();
+    private JdbcClusterEventRelay nodeA;
+    private JdbcClusterEventRelay nodeB;
+
+    @BeforeEach
+    void setUp() {
+        nodeA = relay("node-a", deliveredOnA);
+        nodeB = relay("node-b", deliveredOnB);
+        nodeA.start();
+        nodeB.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        clusterEventRepository.deleteAll();
+    }
+
+    @Test
+    void publishedEvents_reachOtherNodeOnce_andNeverEchoBack() {
+        nodeA.publish("/topic/admin/inquiries", "{\"from\":\"a\"}".getBytes(StandardCharsets.UTF_8));
+        nodeB.publish("/topic/users/1/inquiries/7", "{\"from\":\"b\"}".getBytes(StandardCharsets.UTF_8));
+
+        nodeA.poll();
+        nodeB.poll();
+        // Polling again, before or after the rows settle, must not deliver them twice.
+        nodeA.poll();
+        nodeB.poll();
+
+        assertEquals(List.of("/topic/users/1/inquiries/7 {\"from\":\"b\"}"), deliveredOnA);
+        assertEquals(List.of("/topic/admin/inquiries {\"from\":\"a\"}"), deliveredOnB);
+        assertTrue(clusterEventRepository.findAll().stream().allMatch(e -> e.getCreatedAt() != null),
+                "rows are stamped by the database");
+    }
+
+    private JdbcClusterEventRelay relay(String nodeId, List<String> delivered) {
+        SimpMessagingTemplate template = new SimpMessagingTemplate((Message<?> message, long timeout) -> {
+            delivered.add(SimpMessageHeaderAccessor.getDestination(message.getHeaders()) + " "
+                    + new String((byte[]) message.getPayload(), StandardCharsets.UTF_8));
+            return true;
+        });
+        return new JdbcClusterEventRelay(clusterEventRepository, transactionManager, template, nodeId, 0, 300);
+    }
+}
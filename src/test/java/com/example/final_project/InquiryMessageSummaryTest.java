@@ -0,0 +1,90 @@
+package com.example.final_project;
+
+import com.example.final_project.model.Inquiry;
+import com.example.final_project.model.Property;
+import com.example.final_project.model.PropertyStatus;
+import com.example.final_project.model.PropertyType;
+import com.example.final_project.model.Role;
+import com.example.final_project.model.User;
+import com.example.final_project.repository.InquiryRepository;
+import com.example.final_project.repository.PropertyRepository;
+import com.example.final_project.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * The inquiry summary columns are appended to with one atomic UPDATE, so every
+ * message is counted and a late-committing older message never replaces the
+ * preview of a newer one.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class InquiryMessageSummaryTest {
+
+    @Autowired
+    private InquiryRepository inquiryRepository;
+
+    @Autowired
+    private PropertyRepository propertyRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Inquiry inquiry;
+
+    @AfterEach
+    void tearDown() {
+        inquiryRepository.delete(inquiry);
+        propertyRepository.delete(inquiry.getProperty());
+        userRepository.delete(inquiry.getUser());
+    }
+
+    @Test
+    void recordMessage_countsEveryMessage_andKeepsNewestPreview() {
+        LocalDateTime start = LocalDateTime.now().withNano(0);
+        inquiry = inquiryRepository.save(Inquiry.builder()
+                .user(userRepository.save(User.builder()
+                        .name("Summary User")
+                        .email("summary-user@example.com")
+                        .password("{noop}password")
+                        .role(Role.USER)
+                        .build()))
+                .property(propertyRepository.save(Property.builder()
+                        .title("Summary Listing")
+                        .address("1 Summary Street")
+                        .price(BigDecimal.valueOf(100_000))
+                        .type(PropertyType.SALE)
+                        .status(PropertyStatus.AVAILABLE)
+                        .ownerEmail("owner@example.com")
+                        .createdAt(start)
+                        .build()))
+                .createdAt(start)
+                .lastMessageAt(start)
+                .lastMessagePreview("first")
+                .messageCount(1)
+                .build());
+
+        transactionTemplate.executeWithoutResult(tx -> {
+            inquiryRepository.recordMessage(inquiry.getId(), start.plusMinutes(2), "third");
+            // Sent earlier but recorded later, as when two sends commit out of order
+            inquiryRepository.recordMessage(inquiry.getId(), start.plusMinutes(1), "second");
+        });
+
+        Inquiry stored = inquiryRepository.findById(inquiry.getId()).orElseThrow();
+        assertEquals(3, stored.getMessageCount());
+        assertEquals("third", stored.getLastMessagePreview());
+        assertEquals(start.plusMinutes(2), stored.getLastMessageAt());
+    }
+}
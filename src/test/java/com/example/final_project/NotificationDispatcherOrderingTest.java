@@ -0,0 +1,69 @@
+package com.example.final_project;
+
+import com.example.final_project.dto.InquiryMessageDTO;
+import com.example.final_project.service.InquiryEventPublisher;
+import com.example.final_project.service.InquiryMessageEvent;
+import com.example.final_project.service.NotificationDispatcher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * STOMP clients render a thread in arrival order, so every destination must
+ * receive its messages in publish order even with several dispatch threads.
+ */
+class NotificationDispatcherOrderingTest {
+
+    private static final int INQUIRIES = 3;
+    private static final int MESSAGES_PER_INQUIRY = 100;
+
+    @Test
+    void messagesToOneTopic_arriveInPublishOrder() throws InterruptedException {
+        Map<String, List<Long>> received = new ConcurrentHashMap<>();
+        CountDownLatch delivered = new CountDownLatch(INQUIRIES * MESSAGES_PER_INQUIRY);
+        InquiryEventPublisher publisher = new InquiryEventPublisher(null, null) {
+            @Override
+            public void send(String destination, Object payload) {
+                if (ThreadLocalRandom.current().nextInt(10) == 0) {
+                    // Uneven send times, as with a slow subscriber channel
+                    try {
+                        Thread.sleep(1);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                received.computeIfAbsent(destination, key -> new ArrayList<>())
+                        .add(((InquiryMessageDTO) payload).getId());
+                delivered.countDown();
+            }
+        };
+        NotificationDispatcher dispatcher = new NotificationDispatcher(publisher, null, new SimpleMeterRegistry(), 4,
+                10_000);
+
+        for (long id = 0; id < INQUIRIES * MESSAGES_PER_INQUIRY; id++) {
+            long inquiryId = id % INQUIRIES;
+            dispatcher.onInquiryMessage(new InquiryMessageEvent(inquiryId, 1L, null,
+                    InquiryMessageDTO.builder().id(id).build(), false));
+        }
+
+        assertTrue(delivered.await(30, TimeUnit.SECONDS), "all messages delivered");
+        dispatcher.shutdown();
+        assertEquals(INQUIRIES, received.size());
+        received.forEach((destination, ids) -> {
+            assertEquals(MESSAGES_PER_INQUIRY, ids.size(), destination);
+            for (int i = 1; i < ids.size(); i++) {
+                assertTrue(ids.get(i - 1) < ids.get(i), destination + " out of order: " + ids);
+            }
+        });
+    }
+}
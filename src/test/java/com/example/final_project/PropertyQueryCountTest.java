@@ -0,0 +1,126 @@
+package com.example.final_project;
+
+import com.example.final_project.model.Property;
+import com.example.final_project.model.PropertyStatus;
+import com.example.final_project.model.PropertyType;
+import com.example.final_project.repository.PropertyMediaRepository;
+import com.example.final_project.repository.PropertyRepository;
+import com.example.final_project.repository.UserNotificationRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.setup.MockMvcBuilders.webAppContextSetup;
+
+/**
+ * Guards against N+1 loading of the Property element collections: the number of
+ * JDBC statements for a list endpoint must not grow with the number of rows.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+class PropertyQueryCountTest {
+
+    private static final String OWNER = "owner@example.com";
+
+    private MockMvc mockMvc;
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private PropertyRepository propertyRepository;
+
+    @Autowired
+    private PropertyMediaRepository propertyMediaRepository;
+
+    @Autowired
+    private UserNotificationRepository userNotificationRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = webAppContextSetup(webApplicationContext)
+                .apply(springSecurity())
+                .build();
+        userNotificationRepository.deleteAll();
+        propertyMediaRepository.deleteAll();
+        propertyRepository.deleteAll();
+    }
+
+    @Test
+    void pendingListings_useConstantStatementCount() throws Exception {
+        MockHttpServletRequestBuilder request = get("/api/admin/listings/pending")
+                .with(user("admin@example.com").roles("ADMIN"));
+
+        long few = statementsFor(request, 2);
+        long many = statementsFor(request, 12);
+
+        assertEquals(few, many, "statement count grew with the number of listings");
+        assertTrue(many <= 4, "expected at most 4 statements but was " + many);
+    }
+
+    @Test
+    void myListings_useConstantStatementCount() throws Exception {
+        MockHttpServletRequestBuilder request = get("/api/properties/my-listings")
+                .header("Authorization", "Bearer test")
+                .with(user(OWNER).roles("USER"));
+
+        long few = statementsFor(request, 2);
+        long many = statementsFor(request, 12);
+
+        assertEquals(few, many, "statement count grew with the number of listings");
+        assertTrue(many <= 4, "expected at most 4 statements but was " + many);
+    }
+
+    private long statementsFor(MockHttpServletRequestBuilder request, int listings) throws Exception {
+        propertyRepository.deleteAll();
+        List<Property> properties = new ArrayList<>();
+        for (int i = 0; i < listings; i++) {
+            properties.add(Property.builder()
+                    .title("Listing " + i)
+                    .address(i + " Main Street")
+                    .price(BigDecimal.valueOf(100_000 + i))
+                    .type(PropertyType.SALE)
+                    .status(PropertyStatus.PENDING)
+                    .ownerEmail(OWNER)
+                    .imageUrls(new ArrayList<>(List.of("/api/files/a" + i + ".jpg", "/api/files/b" + i + ".jpg")))
+                    .facilities(new ArrayList<>(List.of("Parking", "Garden")))
+                    .createdAt(LocalDateTime.now())
+                    .build());
+        }
+        propertyRepository.saveAll(properties);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(listings))
+                .andExpect(jsonPath("$[0].imageUrls.length()").value(2))
+                .andExpect(jsonPath("$[0].facilities.length()").value(2));
+
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.final_project;
+
+import com.example.final_project.dto.PropertySubmissionDTO;
+import com.example.final_project.model.Property;
+import com.example.final_project.model.Role;
+import com.example.final_project.model.User;
+import com.example.final_project.repository.PropertyMediaRepository;
+import com.example.final_project.repository.PropertyRepository;
+import com.example.final_project.repository.UserNotificationRepository;
+import com.example.final_project.repository.UserRepository;
+import com.example.final_project.service.PropertyService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Scaling check for the public submission path: resolving the selected agent by
+ * name must cost the same whether the users table holds a handful of rows or
+ * thousands. Work is measured as Hibernate statements and entity loads, which are
+ * stable across machines, rather than wall time.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+class PropertySubmissionScalingTest {
+
+    private static final String AGENT_NAME = "Scaling Agent";
+    private static final int ROUNDS = 5;
+
+    @Autowired
+    private PropertyService propertyService;
+
+    @Autowired
+    private PropertyRepository propertyRepository;
+
+    @Autowired
+    private PropertyMediaRepository propertyMediaRepository;
+
+    @Autowired
+    private UserNotificationRepository userNotificationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final List<User> createdUsers = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        userNotificationRepository.deleteAll();
+        propertyMediaRepository.deleteAll();
+        propertyRepository.deleteAll();
+        // A customer with the same name, registered first, must never become the agent
+        createdUsers.add(userRepository.save(user(AGENT_NAME, "scaling-namesake@example.com", Role.USER)));
+        createdUsers.add(userRepository.save(user(AGENT_NAME, "scaling-agent@example.com", Role.AGENT)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        propertyRepository.deleteAll();
+        userRepository.deleteAll(createdUsers);
+        createdUsers.clear();
+    }
+
+    @Test
+    void submitProperty_costIsFlatAsUserTableGrows() {
+        Cost small = measure();
+
+        List<User> filler = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            filler.add(user("Filler User " + i, "filler" + i + "@example.com", Role.USER));
+        }
+        createdUsers.addAll(userRepository.saveAll(filler));
+
+        Cost large = measure();
+
+        assertEquals(small.statements(), large.statements(), "statement count grew with the users table");
+        assertEquals(small.entityLoads(), large.entityLoads(), "entity loads grew with the users table");
+        assertTrue(large.entityLoads() <= 1, "expected only the selected agent to be loaded");
+    }
+
+    private Cost measure() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        long statements = 0;
+        long entityLoads = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            statistics.clear();
+            Property saved = propertyService.submitProperty(submission(), null);
+
+            assertNotNull(saved.getAgent(), "agent was not resolved by name");
+            assertEquals(Role.AGENT, saved.getAgent().getRole(), "a non-agent namesake was picked");
+            // Every round does the same work; keep the last round's counts.
+            statements = statistics.getPrepareStatementCount();
+            entityLoads = statistics.getEntityLoadCount();
+        }
+        return new Cost(statements, entityLoads);
+    }
+
+    private static PropertySubmissionDTO submission() {
+        PropertySubmissionDTO dto = new PropertySubmissionDTO();
+        dto.setTitle("Scaling test listing");
+        dto.setAddress("1 Benchmark Road");
+        dto.setPrice(BigDecimal.valueOf(250_000));
+        dto.setType("SALE");
+        dto.setOwnerName("Owner");
+        dto.setOwnerEmail("owner@example.com");
+        dto.setDriveLink("https://drive.google.com/drive/folders/scaling-test");
+        // Case and spacing differ from the stored name
+        dto.setAgentName("  scaling   AGENT ");
+        return dto;
+    }
+
+    private static User user(String name, String email, Role role) {
+        return User.builder()
+                .name(name)
+                .email(email)
+                .password("{noop}password")
+                .role(role)
+                .build();
+    }
+
+    private record Cost(long statements, long entityLoads) {
+    }
+}
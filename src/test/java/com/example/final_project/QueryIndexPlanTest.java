@@ -0,0 +1,49 @@
+package com.example.final_project;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs EXPLAIN on H2 for the SQL behind the hot repository finders and fails if
+ * the planner stops picking the index declared for it on the entity.
+ * <p>
+ * H2 adds its own single-column index for every foreign key and, for a wide
+ * SELECT, costs it the same as the composite one. The FK-led rows therefore
+ * select only indexed columns, a shape where the composite index is the one
+ * that satisfies both the filter and the sort.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class QueryIndexPlanTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @ParameterizedTest(name = "{0}")
+    @CsvSource(delimiter = '|', textBlock = """
+            PropertyRepository.findByStatus | idx_properties_status | SELECT * FROM properties WHERE status = 'PENDING'
+            PropertyRepository.findByOwnerEmail | idx_properties_owner_email | SELECT * FROM properties WHERE owner_email = 'owner@example.com'
+            PropertyRepository.findCardsByType | idx_properties_type | SELECT * FROM properties WHERE type = 'SALE' ORDER BY id
+            InquiryRepository.findSummariesForUser | idx_inquiries_user_last_message | SELECT id FROM inquiries WHERE user_id = 1 ORDER BY last_message_at DESC
+            InquiryRepository.findSummariesForAgent | idx_inquiries_agent_last_message | SELECT id FROM inquiries WHERE assigned_agent_id = 1 ORDER BY last_message_at DESC
+            InquiryRepository.findSummaries | idx_inquiries_status_last_message | SELECT * FROM inquiries WHERE status = 'PENDING' ORDER BY last_message_at DESC
+            InquiryMessageRepository.findByInquiryIdOrderByCreatedAtAsc | idx_inquiry_messages_inquiry_created | SELECT id FROM inquiry_messages WHERE inquiry_id = 1 ORDER BY created_at, id
+            UserNotificationRepository.findTop50ByRecipientEmailOrderByCreatedAtDesc | idx_user_notifications_recipient_created | SELECT * FROM user_notifications WHERE recipient_email = 'user@example.com' ORDER BY created_at DESC LIMIT 50
+            UserRepository.findFirstByRoleAndNameIgnoreCaseOrderByIdAsc | idx_users_role_name | SELECT id FROM users WHERE role = 'AGENT' AND UPPER(name) = 'SCALING AGENT' ORDER BY id LIMIT 1
+            UserNotificationRepository.countByRecipientEmailAndIsReadFalse | idx_user_notifications_recipient_unread | SELECT COUNT(*) FROM user_notifications WHERE recipient_email = 'user@example.com' AND is_read = FALSE
+            """)
+    void hotFinderUsesItsIndex(String finder, String index, String sql) {
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+
+        assertTrue(plan.toUpperCase(Locale.ROOT).contains(index.toUpperCase(Locale.ROOT)),
+                finder + " no longer uses " + index + ". Plan: " + plan);
+    }
+}
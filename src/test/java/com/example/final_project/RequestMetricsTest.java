@@ -0,0 +1,122 @@
+package com.example.final_project;
+
+import com.example.final_project.config.QueryCountHeaderAdvice;
+import com.example.final_project.config.RequestMetricsFilter;
+import com.example.final_project.config.StatementCountingDataSource;
+import com.example.final_project.model.Property;
+import com.example.final_project.model.PropertyStatus;
+import com.example.final_project.model.PropertyType;
+import com.example.final_project.repository.PropertyMediaRepository;
+import com.example.final_project.repository.PropertyRepository;
+import com.example.final_project.repository.UserNotificationRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.context.WebApplicationContext;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.setup.MockMvcBuilders.webAppContextSetup;
+
+/**
+ * Per-request JDBC statement counting: the response header outside prod and the
+ * http.server.requests.jdbc.* meters tagged by endpoint.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class RequestMetricsTest {
+
+    private static final String PENDING = "/api/admin/listings/pending";
+
+    private MockMvc mockMvc;
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private RequestMetricsFilter requestMetricsFilter;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PropertyRepository propertyRepository;
+
+    @Autowired
+    private PropertyMediaRepository propertyMediaRepository;
+
+    @Autowired
+    private UserNotificationRepository userNotificationRepository;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = webAppContextSetup(webApplicationContext)
+                .addFilters(requestMetricsFilter)
+                .apply(springSecurity())
+                .build();
+        userNotificationRepository.deleteAll();
+        propertyMediaRepository.deleteAll();
+        propertyRepository.deleteAll();
+        propertyRepository.save(Property.builder()
+                .title("Listing")
+                .address("1 Main Street")
+                .price(BigDecimal.valueOf(100_000))
+                .type(PropertyType.SALE)
+                .status(PropertyStatus.PENDING)
+                .ownerEmail("owner@example.com")
+                .createdAt(LocalDateTime.now())
+                .build());
+    }
+
+    @Test
+    void dataSourceIsWrapped() {
+        assertInstanceOf(StatementCountingDataSource.class, dataSource);
+    }
+
+    @Test
+    void statementsAreReportedInHeaderAndMeter() throws Exception {
+        DistributionSummary before = summary();
+        long countBefore = before == null ? 0 : before.count();
+        double totalBefore = before == null ? 0 : before.totalAmount();
+
+        MvcResult result = mockMvc.perform(get(PENDING).with(user("admin@example.com").roles("ADMIN")))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        String header = result.getResponse().getHeader(QueryCountHeaderAdvice.QUERY_COUNT_HEADER);
+        assertNotNull(header, "missing " + QueryCountHeaderAdvice.QUERY_COUNT_HEADER);
+        int statements = Integer.parseInt(header);
+        assertTrue(statements > 0, "expected the listing query to be counted");
+        assertNotNull(result.getResponse().getHeader(QueryCountHeaderAdvice.QUERY_TIME_HEADER));
+
+        DistributionSummary after = summary();
+        assertNotNull(after, "no http.server.requests.jdbc.statements meter for " + PENDING);
+        assertEquals(countBefore + 1, after.count());
+        assertTrue(after.totalAmount() - totalBefore >= statements);
+    }
+
+    private DistributionSummary summary() {
+        return meterRegistry.find("http.server.requests.jdbc.statements")
+                .tags("method", "GET", "uri", PENDING, "status", "200")
+                .summary();
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.final_project;
+
+import com.example.final_project.model.Inquiry;
+import com.example.final_project.model.InquiryMessage;
+import com.example.final_project.model.Property;
+import com.example.final_project.model.PropertyStatus;
+import com.example.final_project.model.PropertyType;
+import com.example.final_project.model.Role;
+import com.example.final_project.model.User;
+import com.example.final_project.repository.InquiryMessageRepository;
+import com.example.final_project.repository.InquiryRepository;
+import com.example.final_project.repository.PropertyRepository;
+import com.example.final_project.repository.UserRepository;
+import com.example.final_project.service.UnreadCounters;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * A customer's own messages never count as unread for them when the counters
+ * are rebuilt from the database, including inquiries stored before the user's
+ * read mark was set on creation.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class UnreadCountersSeedTest {
+
+    @Autowired
+    private InquiryRepository inquiryRepository;
+
+    @Autowired
+    private InquiryMessageRepository messageRepository;
+
+    @Autowired
+    private PropertyRepository propertyRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UnreadCounters unreadCounters;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Inquiry inquiry;
+
+    @AfterEach
+    void tearDown() {
+        messageRepository.deleteAll(messageRepository.findByInquiryIdOrderByCreatedAtAsc(inquiry.getId()));
+        inquiryRepository.deleteById(inquiry.getId());
+        propertyRepository.delete(inquiry.getProperty());
+        userRepository.delete(inquiry.getUser());
+    }
+
+    @Test
+    void seed_doesNotCountLegacyInquiryWithOnlyCustomerMessages() {
+        LocalDateTime start = LocalDateTime.now().withNano(0);
+        User user = userRepository.save(User.builder()
+                .name("Unread User")
+                .email("unread-user@example.com")
+                .password("{noop}password")
+                .role(Role.USER)
+                .build());
+        // As stored by the old createInquiry: no read mark, first message just after createdAt
+        inquiry = inquiryRepository.save(Inquiry.builder()
+                .user(user)
+                .property(propertyRepository.save(Property.builder()
+                        .title("Unread Listing")
+                        .address("1 Unread Street")
+                        .price(BigDecimal.valueOf(100_000))
+                        .type(PropertyType.SALE)
+                        .status(PropertyStatus.AVAILABLE)
+                        .ownerEmail("owner@example.com")
+                        .createdAt(start)
+                        .build()))
+                .createdAt(start)
+                .lastMessageAt(start.plusSeconds(1))
+                .lastMessagePreview("hello")
+                .messageCount(1)
+                .build());
+        messageRepository.save(InquiryMessage.builder()
+                .inquiry(inquiry)
+                .senderId(user.getId())
+                .senderRole(Role.USER)
+                .text("hello")
+                .createdAt(start.plusSeconds(1))
+                .build());
+
+        transactionTemplate.executeWithoutResult(tx -> inquiryRepository.markCustomerOnlyInquiriesReadByUser());
+        unreadCounters.seed();
+
+        assertEquals(0, unreadCounters.inquiriesUnreadByUser(user.getId()));
+        assertEquals(start.plusSeconds(1),
+                inquiryRepository.findById(inquiry.getId()).orElseThrow().getLastReadAtUser());
+    }
+}